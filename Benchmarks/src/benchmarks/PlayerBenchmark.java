@@ -0,0 +1,115 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import model.Player;
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+import utilities.Position;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+
+	private static Player createPlayer() {
+		return new Player(new Position(3.2, -2.5), 8.0, 10.0, 10.0, 15.0);
+	}
+
+	// each transition is parked at a representative point of its motion and
+	// update(0) re-evaluates that point, so the cost does not drift with t
+	@State(Scope.Thread)
+	public static class TransitionState {
+
+		@Param({ "StationaryToRunning", "StationaryToRunningDesiredTime", "StationaryToRunningMaxVelocity",
+				"RunningToStationary", "RunningToStationaryDesiredTime" })
+		public String transition;
+
+		Player player;
+
+		@Setup
+		public void setUp() {
+			player = createPlayer();
+			switch (transition) {
+			case "StationaryToRunning":
+				player.setGoalState(new GoalState(new Position(40, 30), FinalSpeedEnum.Running));
+				advance(player, 3);
+				break;
+			case "StationaryToRunningDesiredTime":
+				player.setGoalState(new GoalState(new Position(40, 30), FinalSpeedEnum.Running, 5));
+				advance(player, 3);
+				break;
+			case "StationaryToRunningMaxVelocity":
+				player.setGoalState(new GoalState(new Position(5e4, 5e4), FinalSpeedEnum.Running, 1));
+				advance(player, 30);
+				break;
+			case "RunningToStationary":
+				runThenStop(player, new GoalState(new Position(30, 20), FinalSpeedEnum.Stationary));
+				break;
+			case "RunningToStationaryDesiredTime":
+				runThenStop(player, new GoalState(new Position(30, 20), FinalSpeedEnum.Stationary, 4));
+				break;
+			default:
+				throw new IllegalArgumentException("unknown transition " + transition);
+			}
+		}
+
+		private static void runThenStop(Player player, GoalState stop) {
+			player.setGoalState(new GoalState(new Position(40, 30), FinalSpeedEnum.Running));
+			advance(player, 10);
+			player.setGoalState(stop);
+			advance(player, 3);
+		}
+
+		private static void advance(Player player, int ticks) {
+			for (int i = 0; i < ticks; i++) {
+				player.update();
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class ReplanState {
+		Player player;
+		GoalState first;
+		GoalState second;
+		boolean toggle;
+
+		@Setup
+		public void setUp() {
+			player = createPlayer();
+			first = new GoalState(new Position(40, 30), FinalSpeedEnum.Running);
+			second = new GoalState(new Position(-40, 10), FinalSpeedEnum.Running);
+		}
+	}
+
+	@Benchmark
+	public void update(TransitionState state, Blackhole blackhole) {
+		Player player = state.player;
+		player.update(0.0);
+		blackhole.consume(player.getVelocityX());
+		blackhole.consume(player.getVelocityY());
+	}
+
+	@Benchmark
+	public void setGoalState(ReplanState state, Blackhole blackhole) {
+		state.toggle = !state.toggle;
+		state.player.setGoalState(state.toggle ? state.first : state.second);
+		blackhole.consume(state.player.getVelocityX());
+	}
+}
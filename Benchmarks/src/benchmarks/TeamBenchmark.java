@@ -0,0 +1,112 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.BatchStepper;
+import model.ScalarBatchStepper;
+import model.SeparationStage;
+import model.SimulationEngine;
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+import utilities.PlayerNameEnum;
+import utilities.PlayerProfile;
+import utilities.Position;
+import utilities.TeamSide;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TeamBenchmark {
+
+	// total players stepped per op, split into seven-player lines
+	@Param({ "7", "70", "7000" })
+	public int players;
+
+	// player by player, or through a batch backend
+	@Param({ "player", "scalar", "vector" })
+	public String stepper;
+
+	private SimulationEngine[] engines;
+	// the same number of players as synthetic agents in a single team
+	private SimulationEngine crowd;
+	// the same number again, standing 1.5 m apart with separation on
+	private SimulationEngine separated;
+
+	@Setup
+	public void setUp() {
+		PlayerNameEnum[] names = PlayerNameEnum.values();
+		engines = new SimulationEngine[players / names.length];
+		for (int e = 0; e < engines.length; e++) {
+			engines[e] = new SimulationEngine();
+			for (PlayerNameEnum playerName : names) {
+				int i = playerName.ordinal();
+				engines[e].addPlayer(playerName, new Position(i, e), 8.0, 10.0, 10.0, 15.0)
+						.setGoalState(new GoalState(new Position(100 + i, 40 - e), FinalSpeedEnum.Running));
+			}
+			engines[e].getTeam().setBatchStepper(createStepper());
+		}
+		crowd = new SimulationEngine();
+		for (int i = 0; i < players; i++) {
+			crowd.addAgent(TeamSide.Home, new Position(i % 100, i / 100), new PlayerProfile(8.0, 10.0, 10.0, 15.0))
+					.setGoalState(new GoalState(new Position(i % 100, 1000), FinalSpeedEnum.Running));
+		}
+		crowd.getTeam().setBatchStepper(createStepper());
+		separated = new SimulationEngine();
+		int side = (int) Math.ceil(Math.sqrt(players));
+		for (int i = 0; i < players; i++) {
+			separated.addAgent(TeamSide.Home, new Position(1.5 * (i % side), 1.5 * (i / side)),
+					new PlayerProfile(8.0, 10.0, 10.0, 15.0));
+		}
+		separated.getTeam().setSeparation(new SeparationStage(2.0, 40.0, 2.0, 6.0));
+		separated.getTeam().setBatchStepper(createStepper());
+	}
+
+	private BatchStepper createStepper() {
+		switch (stepper) {
+		case "scalar":
+			return new ScalarBatchStepper();
+		case "vector":
+			return BatchStepper.fastest();
+		default:
+			return null;
+		}
+	}
+
+	@Benchmark
+	public long step() {
+		long ticks = 0;
+		for (SimulationEngine engine : engines) {
+			engine.step();
+			ticks += engine.getTickCount();
+		}
+		return ticks;
+	}
+
+	@Benchmark
+	public long stepCrowd() {
+		crowd.step();
+		return crowd.getTickCount();
+	}
+
+	// constant density, so the time per player should stay flat as players grow
+	@Benchmark
+	public long stepSeparated() {
+		separated.step();
+		return separated.getTickCount();
+	}
+}
@@ -0,0 +1,145 @@
+package mainwindow;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+
+import model.SimulationEngine;
+import model.SnapshotInterpolator;
+
+// Active rendering alternative to MainViewer: a Canvas page-flipped through a
+// BufferStrategy from its own thread, paced on System.nanoTime() rather than
+// a Swing Timer. Each frame draws the players blended between the last two
+// simulation snapshots.
+class ActiveRenderer extends Canvas implements Runnable {
+
+	// parkNanos can overshoot by a scheduler quantum, so the last stretch is spun
+	private final static long SPIN_NANOS = 1_000_000;
+	private final static long STATS_WINDOW_NANOS = 1_000_000_000;
+
+	private final SimulationEngine engine;
+	private final long frameNanos;
+	private final FieldRenderer fieldRenderer = new FieldRenderer();
+	private final SnapshotInterpolator interpolator = new SnapshotInterpolator(MainViewer.MAX_EXTRAPOLATION);
+	private final Ellipse2D.Float circle = new Ellipse2D.Float();
+	private volatile boolean running;
+	private Thread thread;
+	// frame interval statistics over the current window (Welford)
+	private long frames;
+	private double meanMillis;
+	private double squaredDeviations;
+	private long windowStart;
+	private String statsText = "";
+
+	ActiveRenderer(SimulationEngine engine, int width, int height, double framesPerSecond) {
+		this.engine = engine;
+		this.frameNanos = (long) (1e9 / framesPerSecond);
+		setPreferredSize(new Dimension(width, height));
+		setIgnoreRepaint(true);
+	}
+
+	// call once the canvas is displayable, i.e. after the frame is shown
+	synchronized void start() {
+		if (thread != null) {
+			return;
+		}
+		createBufferStrategy(2);
+		running = true;
+		thread = new Thread(this, "render");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	synchronized void stop() {
+		running = false;
+		if (thread != null) {
+			thread.interrupt();
+			thread = null;
+		}
+	}
+
+	@Override
+	public void run() {
+		long previousFrame = System.nanoTime();
+		long nextFrame = previousFrame + frameNanos;
+		windowStart = previousFrame;
+		while (running && !Thread.currentThread().isInterrupted()) {
+			long now = System.nanoTime();
+			recordFrame(now - previousFrame, now);
+			previousFrame = now;
+			render(now);
+			engine.getMetrics().recordPaint(System.nanoTime() - now);
+			waitUntil(nextFrame);
+			engine.getMetrics().recordTimerJitter(System.nanoTime() - nextFrame);
+			nextFrame += frameNanos;
+			// after a stall start a fresh schedule instead of bursting to catch up
+			if (nextFrame < System.nanoTime()) {
+				nextFrame = System.nanoTime() + frameNanos;
+			}
+		}
+	}
+
+	private static void waitUntil(long deadline) {
+		long remaining = deadline - System.nanoTime();
+		if (remaining > SPIN_NANOS) {
+			LockSupport.parkNanos(remaining - SPIN_NANOS);
+		}
+		while (System.nanoTime() < deadline) {
+			Thread.onSpinWait();
+		}
+	}
+
+	private void render(long now) {
+		BufferStrategy strategy = getBufferStrategy();
+		interpolator.offer(engine.getSnapshot(), now);
+		do {
+			do {
+				Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+				try {
+					fieldRenderer.paintField(g, getGraphicsConfiguration(), getWidth(), getHeight());
+					drawPlayers(g, interpolator.alpha(now));
+					g.setColor(Color.BLACK);
+					g.drawString(statsText, 8, 16);
+				} finally {
+					g.dispose();
+				}
+			} while (strategy.contentsRestored());
+			strategy.show();
+		} while (strategy.contentsLost());
+		Toolkit.getDefaultToolkit().sync();
+	}
+
+	private void drawPlayers(Graphics2D g, double alpha) {
+		int size = FieldRenderer.PLAYER_DIAMETER;
+		for (int i = 0; i < interpolator.size(); i++) {
+			circle.setFrame(fieldRenderer.playerLeft(interpolator.getX(i, alpha)),
+					fieldRenderer.playerTop(interpolator.getY(i, alpha)), size, size);
+			g.setPaint(Color.green);
+			g.fill(circle);
+			g.setPaint(Color.black);
+			g.draw(circle);
+		}
+	}
+
+	private void recordFrame(long intervalNanos, long now) {
+		double millis = intervalNanos / 1e6;
+		frames++;
+		double delta = millis - meanMillis;
+		meanMillis += delta / frames;
+		squaredDeviations += delta * (millis - meanMillis);
+		if (now - windowStart >= STATS_WINDOW_NANOS) {
+			double deviation = frames > 1 ? Math.sqrt(squaredDeviations / (frames - 1)) : 0;
+			statsText = String.format("%.1f fps  %.2f ms, sd %.2f ms", frames * 1e9 / (now - windowStart),
+					meanMillis, deviation);
+			frames = 0;
+			meanMillis = 0;
+			squaredDeviations = 0;
+			windowStart = now;
+		}
+	}
+}
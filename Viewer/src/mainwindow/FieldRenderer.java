@@ -0,0 +1,78 @@
+package mainwindow;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+// Draws the static field once into a cached image and maps field metres to
+// screen pixels. The image is created compatible with the screen, so Java2D
+// keeps an accelerated copy and each frame is a plain blit.
+class FieldRenderer {
+
+	final static double FIELD_LENGTH = 100.0; // m
+	final static double FIELD_WIDTH = 37.0; // m
+	final static double END_ZONE_DEPTH = 18.0; // m
+	final static double PIXELS_PER_METRE = 4.5;
+	final static int PLAYER_DIAMETER = 10; // px
+
+	private final Color grass = new Color(0x3a, 0x8f, 0x3e);
+	private final Color endZone = new Color(0x2f, 0x7a, 0x33);
+	private BufferedImage fieldImage;
+	private int originX;
+	private int originY;
+
+	void paintField(Graphics2D g, GraphicsConfiguration configuration, int width, int height) {
+		if (fieldImage == null || fieldImage.getWidth() != width || fieldImage.getHeight() != height) {
+			fieldImage = render(configuration, width, height);
+		}
+		g.drawImage(fieldImage, 0, 0, null);
+	}
+
+	private BufferedImage render(GraphicsConfiguration configuration, int width, int height) {
+		BufferedImage image = configuration != null
+				? configuration.createCompatibleImage(width, height, Transparency.OPAQUE)
+				: new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		originX = (int) Math.round((width - FIELD_LENGTH * PIXELS_PER_METRE) / 2);
+		originY = (int) Math.round((height - FIELD_WIDTH * PIXELS_PER_METRE) / 2);
+		Graphics2D g = image.createGraphics();
+		g.setColor(Color.WHITE);
+		g.fillRect(0, 0, width, height);
+		g.setColor(grass);
+		g.fillRect(originX, originY, toPixels(FIELD_LENGTH), toPixels(FIELD_WIDTH));
+		g.setColor(endZone);
+		g.fillRect(originX, originY, toPixels(END_ZONE_DEPTH), toPixels(FIELD_WIDTH));
+		g.fillRect(screenX(FIELD_LENGTH - END_ZONE_DEPTH), originY, toPixels(END_ZONE_DEPTH), toPixels(FIELD_WIDTH));
+		g.setColor(Color.WHITE);
+		g.setStroke(new BasicStroke(2.0f));
+		g.drawRect(originX, originY, toPixels(FIELD_LENGTH), toPixels(FIELD_WIDTH));
+		g.drawLine(screenX(END_ZONE_DEPTH), originY, screenX(END_ZONE_DEPTH), screenY(FIELD_WIDTH));
+		g.drawLine(screenX(FIELD_LENGTH - END_ZONE_DEPTH), originY, screenX(FIELD_LENGTH - END_ZONE_DEPTH),
+				screenY(FIELD_WIDTH));
+		g.dispose();
+		return image;
+	}
+
+	// top-left corner of a player's dot
+	int playerLeft(double x) {
+		return screenX(x) - PLAYER_DIAMETER / 2;
+	}
+
+	int playerTop(double y) {
+		return screenY(y) - PLAYER_DIAMETER / 2;
+	}
+
+	int screenX(double x) {
+		return originX + toPixels(x);
+	}
+
+	int screenY(double y) {
+		return originY + toPixels(y);
+	}
+
+	private static int toPixels(double metres) {
+		return (int) Math.round(metres * PIXELS_PER_METRE);
+	}
+}
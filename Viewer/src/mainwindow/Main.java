@@ -3,16 +3,33 @@ package mainwindow;
 import java.awt.EventQueue;
 import javax.swing.JFrame;
 
+import model.SimulationEngine;
+import model.SimulationLoop;
+
 public class Main extends JFrame {
 
-    public Main() {
+    // -Dviewer.active=true or an "--active" argument selects the BufferStrategy renderer
+    private final static String ACTIVE_PROPERTY = "viewer.active";
+    private final static double ACTIVE_FRAMES_PER_SECOND = 60.0;
+
+    private ActiveRenderer activeRenderer;
+
+    public Main(boolean active) {
         
-        initUI();
+        initUI(active);
     }
     
-    private void initUI() {
+    private void initUI(boolean active) {
 
-        add(new MainViewer());
+        if (active) {
+            SimulationEngine engine = MainViewer.createEngine();
+            new SimulationLoop(engine, MainViewer.SIMULATION_PERIOD_SECONDS).start();
+            activeRenderer = new ActiveRenderer(engine, MainViewer.B_WIDTH, MainViewer.B_HEIGHT,
+                    ACTIVE_FRAMES_PER_SECOND);
+            add(activeRenderer);
+        } else {
+            add(new MainViewer());
+        }
         
         setResizable(false);
         pack();
@@ -24,9 +41,15 @@ public class Main extends JFrame {
 
     public static void main(String[] args) {
         
+        boolean active = Boolean.getBoolean(ACTIVE_PROPERTY)
+                || (args.length > 0 && args[0].equals("--active"));
         EventQueue.invokeLater(() -> {
-            Main ex = new Main();
+            Main ex = new Main(active);
             ex.setVisible(true);
+            // a BufferStrategy needs the canvas to be on screen first
+            if (ex.activeRenderer != null) {
+                ex.activeRenderer.start();
+            }
         });
     }
 }
\ No newline at end of file
@@ -5,34 +5,50 @@ import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Image;
-import java.awt.Shape;
+import java.awt.Rectangle;
 import java.awt.Toolkit;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.geom.Ellipse2D;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.ImageIcon;
 import javax.swing.JPanel;
 import javax.swing.Timer;
 
-import model.Player;
+import metrics.SimulationMetrics;
+import model.SeparationStage;
+import model.SimulationEngine;
+import model.SimulationLoop;
+import model.SnapshotInterpolator;
 import utilities.PlayerNameEnum;
 import utilities.Position;
 
 public class MainViewer extends JPanel implements ActionListener {
 
-	private final int B_WIDTH = 500;
-	private final int B_HEIGHT = 500;
+	final static int B_WIDTH = 500;
+	final static int B_HEIGHT = 500;
 	private final int INITIAL_X = -40;
 	private final int INITIAL_Y = -40;
-	private final int DELAY = 100;
+	private final int DELAY = 16;
+	// physics stays at a cheap 10 Hz, the renderers interpolate in between
+	private final static double PHYSICS_TICK_SECONDS = SimulationEngine.DEFAULT_TICK_SECONDS;
+	final static double SIMULATION_PERIOD_SECONDS = PHYSICS_TICK_SECONDS;
+	// how far past the newest tick to carry players when the next one is late
+	final static double MAX_EXTRAPOLATION = 0.5;
+	private final static long METRICS_REPORT_SECONDS = 30;
 
 	private Timer timer;
 	private int x, y;
-	private long previousTimeStamp = System.currentTimeMillis();
-	private Map<PlayerNameEnum, Player> playerMap = new HashMap<>();
+	private SimulationEngine engine = createEngine();
+	private SimulationLoop simulationLoop = new SimulationLoop(engine, SIMULATION_PERIOD_SECONDS);
+	private FieldRenderer fieldRenderer = new FieldRenderer();
+	private Ellipse2D.Float circle = new Ellipse2D.Float();
+	private SnapshotInterpolator interpolator = new SnapshotInterpolator(MAX_EXTRAPOLATION);
+	// where each player is painted, to repaint only what moved
+	private int[] paintedX = new int[0];
+	private int[] paintedY = new int[0];
+	private long previousActionNanos;
 	
 	public MainViewer() {
 
@@ -46,57 +62,97 @@ public class MainViewer extends JPanel implements ActionListener {
 
 		x = INITIAL_X;
 		y = INITIAL_Y;
-		setUpPlayers();
+		simulationLoop.start();
 		timer = new Timer(DELAY, this);
 		timer.start();
 	}
 
-	private void setUpPlayers() {
+	// shared with ActiveRenderer so both modes show the same team
+	static SimulationEngine createEngine() {
+		SimulationEngine engine = new SimulationEngine(PHYSICS_TICK_SECONDS);
 		for (PlayerNameEnum playerName: PlayerNameEnum.values()) {
-			Player player = new Player(new Position(1, 1), 7.0, 9.0, 20.0, 20.0);
-			playerMap.put(playerName, player);
+			engine.addPlayer(playerName, new Position(1, 1), 7.0, 9.0, 20.0, 20.0);
 		}
+		// everyone starts stacked on the same spot, keep them from overlapping
+		engine.getTeam().setSeparation(new SeparationStage(2.0, 40.0, 0.0, 6.0));
+		SimulationMetrics metrics = new SimulationMetrics();
+		metrics.register();
+		metrics.startReporting(METRICS_REPORT_SECONDS, TimeUnit.SECONDS);
+		engine.setMetrics(metrics);
+		return engine;
 	}
 
+	// the cached field covers every pixel, so there is no background to clear first
 	@Override
 	public void paintComponent(Graphics g) {
-		super.paintComponent(g);
-		drawPlayers(g);
-		updateTimer();
-	}
-
-	private void updateTimer() {
-		long currentTime = System.currentTimeMillis();
-		//System.out.println(currentTime - previousTimeStamp);
-		long timeDifference = currentTime - previousTimeStamp;
-		int error = (int) (timeDifference - DELAY);
-		int adjustedDelay = (int) (DELAY - 0.8*error);
-		if (adjustedDelay < 0) {
-			adjustedDelay = 1;
-		}
-		previousTimeStamp = System.currentTimeMillis();
-		timer.setDelay(adjustedDelay);
-
+		long start = System.nanoTime();
+		Graphics2D ga = (Graphics2D) g;
+		fieldRenderer.paintField(ga, getGraphicsConfiguration(), getWidth(), getHeight());
+		drawPlayers(ga);
+		engine.getMetrics().recordPaint(System.nanoTime() - start);
 	}
 
-	private void drawPlayers(Graphics g) {
-
-		Graphics2D ga = (Graphics2D) g;
-		for (Player player : playerMap.values()) {
-			player.update();
-			Position position = player.getCurrentPosition();
-			Shape circle = new Ellipse2D.Float((int) position.getX(), (int) position.getY(), 10.0f, 10.0f);
-			ga.draw(circle);
+	// draws where repaintMovedPlayers() last placed everyone, so the dirty
+	// regions and the painted dots always agree
+	private void drawPlayers(Graphics2D ga) {
+
+		Rectangle clip = ga.getClipBounds();
+		int size = FieldRenderer.PLAYER_DIAMETER;
+		for (int i = 0; i < paintedX.length; i++) {
+			int left = paintedX[i];
+			int top = paintedY[i];
+			if (clip != null && !clip.intersects(left, top, size, size)) {
+				continue;
+			}
+			circle.setFrame(left, top, size, size);
 			ga.setPaint(Color.green);
 			ga.fill(circle);
+			ga.setPaint(Color.black);
+			ga.draw(circle);
 		}
 
 		Toolkit.getDefaultToolkit().sync();
 	}
 
+	// places every player between the last two snapshots for this frame and
+	// asks Swing to repaint only around the ones that moved
+	private void repaintMovedPlayers(long now) {
+		interpolator.offer(engine.getSnapshot(), now);
+		int count = interpolator.size();
+		double alpha = interpolator.alpha(now);
+		if (paintedX.length != count) {
+			paintedX = new int[count];
+			paintedY = new int[count];
+			for (int i = 0; i < count; i++) {
+				paintedX[i] = fieldRenderer.playerLeft(interpolator.getX(i, alpha));
+				paintedY[i] = fieldRenderer.playerTop(interpolator.getY(i, alpha));
+			}
+			repaint();
+			return;
+		}
+		// one pixel of slack for the outline stroke
+		int size = FieldRenderer.PLAYER_DIAMETER + 2;
+		for (int i = 0; i < count; i++) {
+			int left = fieldRenderer.playerLeft(interpolator.getX(i, alpha));
+			int top = fieldRenderer.playerTop(interpolator.getY(i, alpha));
+			if (left != paintedX[i] || top != paintedY[i]) {
+				repaint(paintedX[i] - 1, paintedY[i] - 1, size, size);
+				repaint(left - 1, top - 1, size, size);
+				paintedX[i] = left;
+				paintedY[i] = top;
+			}
+		}
+	}
+
 	@Override
 	public void actionPerformed(ActionEvent e) {
 
+		long now = System.nanoTime();
+		if (previousActionNanos != 0) {
+			engine.getMetrics().recordTimerJitter(now - previousActionNanos - TimeUnit.MILLISECONDS.toNanos(DELAY));
+		}
+		previousActionNanos = now;
+
 		x += 1;
 		y += 1;
 		if (y > B_HEIGHT) {
@@ -105,7 +161,7 @@ public class MainViewer extends JPanel implements ActionListener {
 			x = INITIAL_X;
 		}
 
-		repaint();
+		repaintMovedPlayers(now);
 	}
 
 }
@@ -0,0 +1,98 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Log-linear histogram of non-negative long values (nanoseconds here), in the
+// style of HdrHistogram: every power of two is split into SUB_BUCKETS equal
+// buckets, so any recorded value is reported within 1% using a fixed table
+// and recording is one index computation and one increment, with no
+// allocation. Every field is atomic, so any thread may record, read or
+// reset (the JMX thread does) without losing or tearing updates; a record
+// racing a reset simply lands on one side of it.
+public class Histogram {
+
+	private final static int SUB_BUCKET_BITS = 7;
+	private final static int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	// about 18 minutes in nanoseconds, anything longer is clamped
+	private final static int MAX_EXPONENT = 40;
+	public final static long HIGHEST_TRACKABLE_VALUE = (1L << MAX_EXPONENT) - 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(
+			(MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS);
+	private final LongAdder totalCount = new LongAdder();
+	private final LongAdder total = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	public void record(long value) {
+		long clamped = Math.min(Math.max(value, 0), HIGHEST_TRACKABLE_VALUE);
+		counts.incrementAndGet(index(clamped));
+		totalCount.increment();
+		total.add(clamped);
+		max.accumulate(clamped);
+	}
+
+	public long getCount() {
+		return totalCount.sum();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	public double getMean() {
+		long count = totalCount.sum();
+		return count == 0 ? 0 : (double) total.sum() / count;
+	}
+
+	// value at or below which the given percentage of recordings fall, 0 if empty
+	public long getValueAtPercentile(double percentile) {
+		long count = 0;
+		for (int i = 0; i < counts.length(); i++) {
+			count += counts.get(i);
+		}
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+		long seen = 0;
+		for (int i = 0; i < counts.length(); i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(highestEquivalentValue(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	public void reset() {
+		for (int i = 0; i < counts.length(); i++) {
+			counts.set(i, 0);
+		}
+		totalCount.reset();
+		total.reset();
+		max.reset();
+	}
+
+	static int index(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int shift = exponent - SUB_BUCKET_BITS;
+		// top bits of the value, in [SUB_BUCKETS, 2 * SUB_BUCKETS)
+		int top = (int) (value >>> shift);
+		return (shift + 1) * SUB_BUCKETS + top - SUB_BUCKETS;
+	}
+
+	static long highestEquivalentValue(int index) {
+		int group = index >>> SUB_BUCKET_BITS;
+		if (group == 0) {
+			return index;
+		}
+		int shift = group - 1;
+		long top = (index & (SUB_BUCKETS - 1)) + SUB_BUCKETS;
+		return ((top + 1) << shift) - 1;
+	}
+}
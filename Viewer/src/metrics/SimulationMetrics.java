@@ -0,0 +1,220 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Latency histograms for the viewer and the simulation: how long each frame
+// takes to paint, how long each tick takes, how far timers fire from their
+// schedule and, when switched on, what each Player.update() costs. Readable
+// over JMX and optionally logged as a one-line summary on a fixed period,
+// so p99s are visible without a profiler or per-frame printing.
+public class SimulationMetrics implements SimulationMetricsMBean {
+
+	public final static String OBJECT_NAME = "ultimateDemo:type=SimulationMetrics";
+
+	private final static Logger LOGGER = Logger.getLogger(SimulationMetrics.class.getName());
+
+	private final Histogram paintTimes = new Histogram();
+	private final Histogram tickDurations = new Histogram();
+	private final Histogram timerJitter = new Histogram();
+	private final Histogram playerUpdates = new Histogram();
+	// timing every player doubles the cost of a tick, so it is opt-in
+	private volatile boolean playerTimingEnabled;
+	private ScheduledExecutorService reporter;
+	private ObjectName registeredName;
+
+	public void recordPaint(long nanos) {
+		paintTimes.record(nanos);
+	}
+
+	public void recordTick(long nanos) {
+		tickDurations.record(nanos);
+	}
+
+	// how far a timer fired from when it was due, either side
+	public void recordTimerJitter(long nanos) {
+		timerJitter.record(Math.abs(nanos));
+	}
+
+	public void recordPlayerUpdate(long nanos) {
+		playerUpdates.record(nanos);
+	}
+
+	public Histogram getPaintTimes() {
+		return paintTimes;
+	}
+
+	public Histogram getTickDurations() {
+		return tickDurations;
+	}
+
+	public Histogram getTimerJitter() {
+		return timerJitter;
+	}
+
+	public Histogram getPlayerUpdates() {
+		return playerUpdates;
+	}
+
+	public synchronized void register() {
+		if (registeredName != null) {
+			return;
+		}
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+			server.registerMBean(this, name);
+			registeredName = name;
+		} catch (JMException e) {
+			throw new IllegalStateException("could not register " + OBJECT_NAME, e);
+		}
+	}
+
+	public synchronized void unregister() {
+		if (registeredName == null) {
+			return;
+		}
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+		} catch (JMException e) {
+			throw new IllegalStateException("could not unregister " + OBJECT_NAME, e);
+		} finally {
+			registeredName = null;
+		}
+	}
+
+	// logs getSummary() at INFO every period on a daemon thread
+	public synchronized void startReporting(long period, TimeUnit unit) {
+		if (reporter != null) {
+			return;
+		}
+		reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "metrics-reporter");
+			thread.setDaemon(true);
+			return thread;
+		});
+		reporter.scheduleAtFixedRate(() -> LOGGER.info(getSummary()), period, period, unit);
+	}
+
+	public synchronized void stopReporting() {
+		if (reporter != null) {
+			reporter.shutdownNow();
+			reporter = null;
+		}
+	}
+
+	@Override
+	public long getFrameCount() {
+		return paintTimes.getCount();
+	}
+
+	@Override
+	public double getPaintTimeP50Micros() {
+		return micros(paintTimes.getValueAtPercentile(50));
+	}
+
+	@Override
+	public double getPaintTimeP99Micros() {
+		return micros(paintTimes.getValueAtPercentile(99));
+	}
+
+	@Override
+	public double getPaintTimeMaxMicros() {
+		return micros(paintTimes.getMax());
+	}
+
+	@Override
+	public long getTickCount() {
+		return tickDurations.getCount();
+	}
+
+	@Override
+	public double getTickDurationP50Micros() {
+		return micros(tickDurations.getValueAtPercentile(50));
+	}
+
+	@Override
+	public double getTickDurationP99Micros() {
+		return micros(tickDurations.getValueAtPercentile(99));
+	}
+
+	@Override
+	public double getTickDurationMaxMicros() {
+		return micros(tickDurations.getMax());
+	}
+
+	@Override
+	public double getTimerJitterP50Micros() {
+		return micros(timerJitter.getValueAtPercentile(50));
+	}
+
+	@Override
+	public double getTimerJitterP99Micros() {
+		return micros(timerJitter.getValueAtPercentile(99));
+	}
+
+	@Override
+	public double getTimerJitterMaxMicros() {
+		return micros(timerJitter.getMax());
+	}
+
+	@Override
+	public boolean isPlayerTimingEnabled() {
+		return playerTimingEnabled;
+	}
+
+	@Override
+	public void setPlayerTimingEnabled(boolean enabled) {
+		playerTimingEnabled = enabled;
+	}
+
+	@Override
+	public double getPlayerUpdateP50Micros() {
+		return micros(playerUpdates.getValueAtPercentile(50));
+	}
+
+	@Override
+	public double getPlayerUpdateP99Micros() {
+		return micros(playerUpdates.getValueAtPercentile(99));
+	}
+
+	@Override
+	public double getPlayerUpdateMaxMicros() {
+		return micros(playerUpdates.getMax());
+	}
+
+	@Override
+	public String getSummary() {
+		return String.format(
+				"frames %d paint p50/p99/max %.0f/%.0f/%.0f us, ticks %d p50/p99/max %.0f/%.0f/%.0f us, "
+						+ "timer jitter p50/p99/max %.0f/%.0f/%.0f us, "
+						+ "player updates %d p50/p99/max %.2f/%.2f/%.2f us",
+				getFrameCount(), getPaintTimeP50Micros(), getPaintTimeP99Micros(), getPaintTimeMaxMicros(),
+				getTickCount(), getTickDurationP50Micros(), getTickDurationP99Micros(), getTickDurationMaxMicros(),
+				getTimerJitterP50Micros(), getTimerJitterP99Micros(), getTimerJitterMaxMicros(),
+				playerUpdates.getCount(), getPlayerUpdateP50Micros(), getPlayerUpdateP99Micros(),
+				getPlayerUpdateMaxMicros());
+	}
+
+	@Override
+	public void reset() {
+		paintTimes.reset();
+		tickDurations.reset();
+		timerJitter.reset();
+		playerUpdates.reset();
+	}
+
+	private static double micros(long nanos) {
+		return nanos / 1e3;
+	}
+}
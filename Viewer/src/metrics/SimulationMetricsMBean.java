@@ -0,0 +1,41 @@
+package metrics;
+
+// JMX view of SimulationMetrics, all durations in microseconds
+public interface SimulationMetricsMBean {
+
+	long getFrameCount();
+
+	double getPaintTimeP50Micros();
+
+	double getPaintTimeP99Micros();
+
+	double getPaintTimeMaxMicros();
+
+	long getTickCount();
+
+	double getTickDurationP50Micros();
+
+	double getTickDurationP99Micros();
+
+	double getTickDurationMaxMicros();
+
+	double getTimerJitterP50Micros();
+
+	double getTimerJitterP99Micros();
+
+	double getTimerJitterMaxMicros();
+
+	boolean isPlayerTimingEnabled();
+
+	void setPlayerTimingEnabled(boolean enabled);
+
+	double getPlayerUpdateP50Micros();
+
+	double getPlayerUpdateP99Micros();
+
+	double getPlayerUpdateMaxMicros();
+
+	String getSummary();
+
+	void reset();
+}
@@ -0,0 +1,19 @@
+package model;
+
+// Steps every packed row of a TrajectoryBatch by dt, with exactly the result
+// Player.update(dt) would give: t advances, the trajectory is evaluated at
+// the new t and the separation offset is added on top. Unpacked rows are
+// left alone for their Player to step.
+public interface BatchStepper {
+
+	void step(TrajectoryBatch batch, TeamState state, double dtSeconds);
+
+	// the Vector API backend when jdk.incubator.vector is available, else scalar
+	static BatchStepper fastest() {
+		try {
+			return VectorBatchStepper.create();
+		} catch (LinkageError e) {
+			return new ScalarBatchStepper();
+		}
+	}
+}
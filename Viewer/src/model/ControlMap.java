@@ -0,0 +1,235 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Field control: for each cell of a grid over the field, the player who
+// could get to its centre first and how soon, from each player's position,
+// velocity and TimeToReachTable. Cells are split across a ForkJoinPool by
+// rows.
+//
+// Updates are incremental. Only players who moved or changed velocity by
+// more than a tolerance since they were last mapped are re-evaluated. A
+// cell whose owner did not change can only be taken over by one of those
+// players; a cell whose owner did change is rescanned against everyone,
+// because its owner may have become slower to get there.
+public class ControlMap {
+
+	public final static double DEFAULT_POSITION_TOLERANCE = 0.05; // m
+	public final static double DEFAULT_VELOCITY_TOLERANCE = 0.05; // m/s
+	public final static int NO_OWNER = -1;
+	// rows per leaf task
+	private final static int ROWS_PER_TASK = 4;
+
+	private final double minX;
+	private final double minY;
+	private final double cellSize;
+	private final int columns;
+	private final int rows;
+	private final ForkJoinPool pool;
+	private final double positionTolerance;
+	private final double velocityTolerance;
+	private final double[] arrivalTimes;
+	private final int[] owners;
+	// each player's state as last mapped, the map is exact for these
+	private double[] mappedX = new double[0];
+	private double[] mappedY = new double[0];
+	private double[] mappedVx = new double[0];
+	private double[] mappedVy = new double[0];
+	private TimeToReachTable[] tables = new TimeToReachTable[0];
+	private boolean[] dirty = new boolean[0];
+	private int[] dirtyPlayers = new int[0];
+	private int dirtyCount;
+	private int mappedCount;
+	private final AtomicLong rescans = new AtomicLong();
+	private long lastRescanCount;
+
+	public ControlMap(double minX, double minY, double width, double height, double cellSize) {
+		this(minX, minY, width, height, cellSize, ForkJoinPool.commonPool(), DEFAULT_POSITION_TOLERANCE,
+				DEFAULT_VELOCITY_TOLERANCE);
+	}
+
+	public ControlMap(double minX, double minY, double width, double height, double cellSize, ForkJoinPool pool,
+			double positionTolerance, double velocityTolerance) {
+		if (cellSize <= 0) {
+			throw new IllegalArgumentException("cell size must be positive: " + cellSize);
+		}
+		this.minX = minX;
+		this.minY = minY;
+		this.cellSize = cellSize;
+		this.columns = Math.max((int) Math.ceil(width / cellSize), 1);
+		this.rows = Math.max((int) Math.ceil(height / cellSize), 1);
+		this.pool = pool;
+		this.positionTolerance = positionTolerance;
+		this.velocityTolerance = velocityTolerance;
+		arrivalTimes = new double[columns * rows];
+		owners = new int[columns * rows];
+		Arrays.fill(arrivalTimes, Double.POSITIVE_INFINITY);
+		Arrays.fill(owners, NO_OWNER);
+	}
+
+	// call from the thread that steps the team
+	public void update(Team team) {
+		int size = team.size();
+		if (size > mappedX.length) {
+			grow(size);
+		}
+		TeamState state = team.getTeamState();
+		dirtyCount = 0;
+		for (int i = 0; i < size; i++) {
+			boolean moved = i >= mappedCount || Math.abs(state.x[i] - mappedX[i]) > positionTolerance
+					|| Math.abs(state.y[i] - mappedY[i]) > positionTolerance
+					|| Math.abs(state.vx[i] - mappedVx[i]) > velocityTolerance
+					|| Math.abs(state.vy[i] - mappedVy[i]) > velocityTolerance;
+			dirty[i] = moved;
+			if (moved) {
+				mappedX[i] = state.x[i];
+				mappedY[i] = state.y[i];
+				mappedVx[i] = state.vx[i];
+				mappedVy[i] = state.vy[i];
+				tables[i] = team.getPlayer(i).getTimeToReachTable();
+				dirtyPlayers[dirtyCount++] = i;
+			}
+		}
+		mappedCount = size;
+		rescans.set(0);
+		if (dirtyCount > 0) {
+			pool.invoke(new RowTask(0, rows));
+		}
+		lastRescanCount = rescans.get();
+	}
+
+	public int getColumns() {
+		return columns;
+	}
+
+	public int getRows() {
+		return rows;
+	}
+
+	public double getCellSize() {
+		return cellSize;
+	}
+
+	public double getCentreX(int column) {
+		return minX + (column + 0.5) * cellSize;
+	}
+
+	public double getCentreY(int row) {
+		return minY + (row + 0.5) * cellSize;
+	}
+
+	// id of the player who gets there first, NO_OWNER before the first update
+	public int getOwner(int column, int row) {
+		return owners[row * columns + column];
+	}
+
+	// s from the last update
+	public double getArrivalTime(int column, int row) {
+		return arrivalTimes[row * columns + column];
+	}
+
+	public int ownerAt(double x, double y) {
+		return owners[cellAt(x, y)];
+	}
+
+	public double arrivalTimeAt(double x, double y) {
+		return arrivalTimes[cellAt(x, y)];
+	}
+
+	// players re-evaluated by the last update
+	public int getLastDirtyCount() {
+		return dirtyCount;
+	}
+
+	// cells the last update had to check against every player
+	public long getLastRescanCount() {
+		return lastRescanCount;
+	}
+
+	private int cellAt(double x, double y) {
+		int column = Math.min(Math.max((int) Math.floor((x - minX) / cellSize), 0), columns - 1);
+		int row = Math.min(Math.max((int) Math.floor((y - minY) / cellSize), 0), rows - 1);
+		return row * columns + column;
+	}
+
+	private void grow(int capacity) {
+		mappedX = Arrays.copyOf(mappedX, capacity);
+		mappedY = Arrays.copyOf(mappedY, capacity);
+		mappedVx = Arrays.copyOf(mappedVx, capacity);
+		mappedVy = Arrays.copyOf(mappedVy, capacity);
+		tables = Arrays.copyOf(tables, capacity);
+		dirty = Arrays.copyOf(dirty, capacity);
+		dirtyPlayers = Arrays.copyOf(dirtyPlayers, capacity);
+	}
+
+	private void updateRows(int fromRow, int toRow) {
+		long rescanned = 0;
+		for (int row = fromRow; row < toRow; row++) {
+			double cy = getCentreY(row);
+			for (int column = 0; column < columns; column++) {
+				double cx = getCentreX(column);
+				int cell = row * columns + column;
+				int owner = owners[cell];
+				double best;
+				if (owner == NO_OWNER || dirty[owner]) {
+					// the owner may now be slower, so everyone competes again
+					owner = NO_OWNER;
+					best = Double.POSITIVE_INFINITY;
+					for (int i = 0; i < mappedCount; i++) {
+						double time = timeToReach(i, cx, cy);
+						if (time < best) {
+							best = time;
+							owner = i;
+						}
+					}
+					rescanned++;
+				} else {
+					best = arrivalTimes[cell];
+					for (int d = 0; d < dirtyCount; d++) {
+						int i = dirtyPlayers[d];
+						double time = timeToReach(i, cx, cy);
+						if (time < best) {
+							best = time;
+							owner = i;
+						}
+					}
+				}
+				arrivalTimes[cell] = best;
+				owners[cell] = owner;
+			}
+		}
+		rescans.addAndGet(rescanned);
+	}
+
+	// same as Player.timeToReach(), from the mapped state
+	private double timeToReach(int i, double x, double y) {
+		double dx = x - mappedX[i];
+		double dy = y - mappedY[i];
+		double distance = Math.sqrt(dx * dx + dy * dy);
+		double speed = distance > 0 ? (mappedVx[i] * dx + mappedVy[i] * dy) / distance : 0;
+		return tables[i].timeToReach(distance, speed);
+	}
+
+	private class RowTask extends RecursiveAction {
+		private final int fromRow;
+		private final int toRow;
+
+		RowTask(int fromRow, int toRow) {
+			this.fromRow = fromRow;
+			this.toRow = toRow;
+		}
+
+		@Override
+		protected void compute() {
+			if (toRow - fromRow <= ROWS_PER_TASK) {
+				updateRows(fromRow, toRow);
+				return;
+			}
+			int middle = (fromRow + toRow) >>> 1;
+			invokeAll(new RowTask(fromRow, middle), new RowTask(middle, toRow));
+		}
+	}
+}
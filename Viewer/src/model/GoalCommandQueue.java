@@ -0,0 +1,97 @@
+package model;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+import utilities.GoalState;
+import utilities.PlayerNameEnum;
+import utilities.TeamSide;
+
+// Goal changes from any number of threads (UI handlers, AI, external feeds)
+// for the simulation thread to pick up at the start of its next step.
+// Vyukov's unbounded MPSC queue: a producer swaps its node in as the tail
+// with one atomic exchange and then links the old tail to it, so submitting
+// never waits, and the consumer only follows next links. A node whose link
+// is not written yet ends the drain early and is picked up next time.
+public class GoalCommandQueue {
+
+	private final AtomicReference<Node> tail;
+	// consumer side only: the last node consumed, its payload already cleared
+	private Node head;
+	private long rejected;
+
+	public GoalCommandQueue() {
+		head = new Node(PlayerRegistry.NONE, null, null, null);
+		tail = new AtomicReference<>(head);
+	}
+
+	// by id, see PlayerRegistry. Malformed commands fail here on the caller's
+	// thread; ids that are simply not on the field yet are dropped at drain time
+	public void submit(int id, GoalState goalState) {
+		if (id < 0) {
+			throw new IllegalArgumentException("player id must not be negative: " + id);
+		}
+		enqueue(new Node(id, null, null, Objects.requireNonNull(goalState, "goalState")));
+	}
+
+	public void submit(TeamSide side, PlayerNameEnum playerName, GoalState goalState) {
+		Objects.requireNonNull(side, "side");
+		Objects.requireNonNull(playerName, "playerName");
+		enqueue(new Node(PlayerRegistry.NONE, side, playerName, Objects.requireNonNull(goalState, "goalState")));
+	}
+
+	private void enqueue(Node node) {
+		Node previous = tail.getAndSet(node);
+		previous.next = node;
+	}
+
+	// Hands every command submitted so far to the team as deferred goals, in
+	// submission order per producer; a later goal for the same player wins.
+	// Commands for players that are not on the field are dropped and counted.
+	// Only the simulation thread may call this. Returns how many were taken.
+	public int drainTo(Team team) {
+		int drained = 0;
+		Node next = head.next;
+		while (next != null) {
+			int id = next.id;
+			if (next.side != null) {
+				id = team.getRegistry().getId(next.side, next.playerName);
+			}
+			if (id >= 0 && id < team.size()) {
+				team.assignGoal(id, next.goalState);
+			} else {
+				rejected++;
+			}
+			next.goalState = null;
+			head = next;
+			next = next.next;
+			drained++;
+		}
+		return drained;
+	}
+
+	// cheap check for the consumer, a command still being linked may be missed
+	public boolean isEmpty() {
+		return head.next == null;
+	}
+
+	// commands dropped because their player was not on the field
+	public long getRejectedCount() {
+		return rejected;
+	}
+
+	private static class Node {
+		private final int id;
+		private final TeamSide side;
+		private final PlayerNameEnum playerName;
+		private GoalState goalState;
+		private volatile Node next;
+
+		Node(int id, TeamSide side, PlayerNameEnum playerName, GoalState goalState) {
+			this.id = id;
+			this.side = side;
+			this.playerName = playerName;
+			this.goalState = goalState;
+		}
+	}
+}
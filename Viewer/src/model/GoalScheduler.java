@@ -0,0 +1,100 @@
+package model;
+
+import java.util.PriorityQueue;
+
+import utilities.TimedGoal;
+
+// Runs a SimulationEngine from one scheduled goal change to the next. Goals
+// wait in a time-ordered queue and are handed to the team in a batch when
+// they fall due. While anyone is still accelerating the engine is ticked as
+// usual; once every player is settled the whole gap to the next goal is
+// covered in a single analytic step, so long stretches of players standing
+// or cruising cost next to nothing.
+public class GoalScheduler {
+
+	// goals due within this of now are applied now
+	private final static double EPSILON = 1e-9; // s
+
+	private final SimulationEngine engine;
+	private final PriorityQueue<ScheduledGoal> queue = new PriorityQueue<>();
+	private long sequence;
+	private long skips;
+
+	public GoalScheduler(SimulationEngine engine) {
+		this.engine = engine;
+	}
+
+	// the goal's time is simulation time; a goal already in the past applies at the next advance
+	public void schedule(TimedGoal goal) {
+		queue.add(new ScheduledGoal(goal, sequence++));
+	}
+
+	public int getScheduledCount() {
+		return queue.size();
+	}
+
+	// how many idle stretches were jumped over instead of ticked
+	public long getSkipCount() {
+		return skips;
+	}
+
+	public void advanceTo(double time) {
+		double tickSeconds = engine.getTickSeconds();
+		while (true) {
+			double now = engine.getSimulationTime();
+			applyDue(now);
+			double remaining = time - now;
+			if (remaining <= EPSILON) {
+				return;
+			}
+			double untilNext = queue.isEmpty() ? remaining : Math.min(remaining, queue.peek().getTime() - now);
+			// goals submitted from other threads count as pending too
+			engine.drainCommands();
+			if (engine.getTeam().canSkipAhead()) {
+				engine.skip(untilNext);
+				skips++;
+			} else {
+				engine.step(Math.min(tickSeconds, untilNext));
+			}
+		}
+	}
+
+	public void advance(double seconds) {
+		advanceTo(engine.getSimulationTime() + seconds);
+	}
+
+	// Goals are only marked pending here and planned together on the next
+	// step, so a later goal for the same player in the same batch wins.
+	private void applyDue(double now) {
+		Team team = engine.getTeam();
+		while (!queue.isEmpty() && queue.peek().getTime() <= now + EPSILON) {
+			TimedGoal goal = queue.poll().goal;
+			int id = team.getRegistry().getId(goal.getSide(), goal.getPlayerName());
+			if (id == PlayerRegistry.NONE) {
+				throw new IllegalArgumentException(goal.getSide() + " " + goal.getPlayerName() + " is not on the field");
+			}
+			team.assignGoal(id, goal.getGoalState());
+		}
+	}
+
+	// earliest first, ties in the order they were scheduled
+	private static class ScheduledGoal implements Comparable<ScheduledGoal> {
+		private final TimedGoal goal;
+		private final long sequence;
+
+		ScheduledGoal(TimedGoal goal, long sequence) {
+			this.goal = goal;
+			this.sequence = sequence;
+		}
+
+		double getTime() {
+			return goal.getTime();
+		}
+
+		@Override
+		public int compareTo(ScheduledGoal other) {
+			int byTime = Double.compare(goal.getTime(), other.goal.getTime());
+			return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package model;
+
+import utilities.Position;
+
+// where and when a player can first meet a moving target
+public class Intercept {
+
+	private final double time; // s from now
+	private final double x; // m
+	private final double y; // m
+
+	Intercept(double time, double x, double y) {
+		this.time = time;
+		this.x = x;
+		this.y = y;
+	}
+
+	public double getTime() {
+		return time;
+	}
+
+	public double getX() {
+		return x;
+	}
+
+	public double getY() {
+		return y;
+	}
+
+	public Position getPosition() {
+		return new Position(x, y);
+	}
+}
@@ -0,0 +1,101 @@
+package model;
+
+// Earliest time a player can meet a target moving in a straight line at
+// constant velocity, i.e. the first t where the player's time to reach the
+// target's position at t is no more than t. The time to reach comes from
+// the player's TimeToReachTable, so each probe is a table lookup. The
+// horizon is scanned in fixed steps for the first reachable point and the
+// crossing is then bisected; a window shorter than one scan step can be
+// missed, which only happens for targets barely faster than the player.
+public class InterceptSolver {
+
+	public final static double DEFAULT_HORIZON = 10.0; // s
+	public final static double DEFAULT_SCAN_STEP = 0.1; // s
+	public final static double DEFAULT_TOLERANCE = 1e-3; // s
+
+	private final double horizon;
+	private final double scanStep;
+	private final double tolerance;
+
+	public InterceptSolver() {
+		this(DEFAULT_HORIZON, DEFAULT_SCAN_STEP, DEFAULT_TOLERANCE);
+	}
+
+	public InterceptSolver(double horizon, double scanStep, double tolerance) {
+		if (!(scanStep > 0 && tolerance > 0)) {
+			throw new IllegalArgumentException("scan step and tolerance must be positive");
+		}
+		this.horizon = horizon;
+		this.scanStep = scanStep;
+		this.tolerance = tolerance;
+	}
+
+	// null when the target cannot be caught within the horizon
+	public Intercept solve(Player player, double targetX, double targetY, double targetVx, double targetVy) {
+		TeamState state = player.getTeamState();
+		int index = player.getIndex();
+		double time = solveTime(player.getTimeToReachTable(), state.x[index], state.y[index], state.vx[index],
+				state.vy[index], targetX, targetY, targetVx, targetVy);
+		if (Double.isNaN(time)) {
+			return null;
+		}
+		return new Intercept(time, targetX + targetVx * time, targetY + targetVy * time);
+	}
+
+	// Solves for every player on the team without allocating: times[row] gets
+	// each player's intercept time (NaN if none) and the row of the earliest
+	// one is returned, -1 if nobody can make it.
+	public int solveAll(Team team, double targetX, double targetY, double targetVx, double targetVy,
+			double[] times) {
+		TeamState state = team.getTeamState();
+		int first = -1;
+		for (int i = 0; i < team.size(); i++) {
+			times[i] = solveTime(team.getPlayer(i).getTimeToReachTable(), state.x[i], state.y[i], state.vx[i],
+					state.vy[i], targetX, targetY, targetVx, targetVy);
+			if (!Double.isNaN(times[i]) && (first == -1 || times[i] < times[first])) {
+				first = i;
+			}
+		}
+		return first;
+	}
+
+	// s until the meeting, NaN if it does not happen within the horizon
+	public double solveTime(TimeToReachTable table, double x, double y, double vx, double vy, double targetX,
+			double targetY, double targetVx, double targetVy) {
+		double previous = 0;
+		if (slack(table, x, y, vx, vy, targetX, targetY, targetVx, targetVy, 0) <= 0) {
+			return 0;
+		}
+		for (double t = scanStep; t <= horizon + 1e-9; t += scanStep) {
+			if (slack(table, x, y, vx, vy, targetX, targetY, targetVx, targetVy, t) <= 0) {
+				return bisect(table, x, y, vx, vy, targetX, targetY, targetVx, targetVy, previous, t);
+			}
+			previous = t;
+		}
+		return Double.NaN;
+	}
+
+	// reachable at high, not at low
+	private double bisect(TimeToReachTable table, double x, double y, double vx, double vy, double targetX,
+			double targetY, double targetVx, double targetVy, double low, double high) {
+		while (high - low > tolerance) {
+			double middle = 0.5 * (low + high);
+			if (slack(table, x, y, vx, vy, targetX, targetY, targetVx, targetVy, middle) <= 0) {
+				high = middle;
+			} else {
+				low = middle;
+			}
+		}
+		return high;
+	}
+
+	// how much later than t the player would arrive where the target is at t
+	private static double slack(TimeToReachTable table, double x, double y, double vx, double vy, double targetX,
+			double targetY, double targetVx, double targetVy, double t) {
+		double dx = targetX + targetVx * t - x;
+		double dy = targetY + targetVy * t - y;
+		double distance = Math.sqrt(dx * dx + dy * dy);
+		double speed = distance > 0 ? (vx * dx + vy * dy) / distance : 0;
+		return table.timeToReach(distance, speed) - t;
+	}
+}
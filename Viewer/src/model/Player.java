@@ -1,8 +1,8 @@
 package model;
 
-import utilities.CurrentState;
 import utilities.FinalSpeedEnum;
 import utilities.GoalState;
+import utilities.PlayerProfile;
 import utilities.Position;
 
 class InitialConditions {
@@ -14,186 +14,318 @@ class InitialConditions {
 	double dy;
 	
 	double getInitialVelocity() {
-		return Math.sqrt(Math.pow(vix, 2) + Math.pow(viy, 2));
+		return Math.sqrt(vix * vix + viy * viy);
 	}
 
 	double getTotalDistance() {
-		return Math.sqrt(Math.pow(dx, 2) + Math.pow(dy, 2));
+		return Math.sqrt(dx * dx + dy * dy);
 	}
 }
 
 public class Player {
 
 	private final static double intervalPeriodMilliseconds = 100.0;
+	// speeds below this count as standing still, for planning and for the separation stage
+	final static double REST_SPEED = 1e-6; // m/s
 	private GoalState goalState;
-	private CurrentState currentState = new CurrentState();
-	private boolean goalPositionChanged = false;
+	private Trajectory trajectory;
+	// the goal the trajectory was planned for, goalState may have drifted from it
+	private GoalState plannedGoalState;
+	// trajectory time after which it stops accelerating, and after which it stops moving
+	private double settleTime;
+	private double restTime;
+	// goal moves smaller than this keep the current trajectory, 0 always replans
+	private double replanTolerance; // m
 	private double maximumVelocity; // m/s
 	private double runningSpeed; // m/s
 	private double maxAcceleration; // m/s/s
 	private double maxDeceleration; // m/s/s
+	private final PlayerProfile profile;
+	private TimeToReachTable timeToReachTable;
 	private Position previousPosition = new Position(0, 0);
 	private FinalSpeedEnum initialSpeedEnum = FinalSpeedEnum.Stationary;
 
-	// for knowing current position
+	// for planning the trajectory to the goal
 	private InitialConditions initialConditions = new InitialConditions();
-	private double t;
-	private double ax;
-	private double ay;
+	private final TeamState state;
+	private final int index;
 	
 	public Player(Position initialPosition, double runningSpeed, double maximumVelocity, double acceleration,
 			double deceleration) {
-		this.currentState.setPosition(initialPosition);
+		this(new TeamState(1), initialPosition, runningSpeed, maximumVelocity, acceleration, deceleration);
+	}
+
+	Player(TeamState state, Position initialPosition, double runningSpeed, double maximumVelocity,
+			double acceleration, double deceleration) {
+		this.state = state;
+		this.index = state.add(initialPosition.getX(), initialPosition.getY());
 		this.maximumVelocity = maximumVelocity;
 		this.runningSpeed = runningSpeed;
 		this.maxAcceleration = acceleration;
 		this.maxDeceleration = deceleration;
+		this.profile = new PlayerProfile(runningSpeed, maximumVelocity, acceleration, deceleration);
 	}
 
 	public void update() {
-		t += 0.1;
-		if (goalPositionChanged) {
-			goalPositionChanged = false;
-			t = 0;
-			initialConditions.vix = currentState.getVelocityX();
-			initialConditions.viy = currentState.getVelocityY();
-			if (currentState.getVelocity() > 0) {
-				initialSpeedEnum = FinalSpeedEnum.Running;
-			} else {
-				initialSpeedEnum = FinalSpeedEnum.Stationary;
-			}
-			initialConditions.dix = currentState.getPosition().getX();
-			initialConditions.diy = currentState.getPosition().getY();
-			initialConditions.dx = goalState.getPosition().getX() - initialConditions.dix;
-			initialConditions.dy = goalState.getPosition().getY() - initialConditions.diy;
-		}
-		// kinematic equations for getting to goal asap
-		if (goalState.getFinalSpeedEnum() == FinalSpeedEnum.Stationary) {
-			// not moving at goal, vf=0
-			if (initialSpeedEnum == FinalSpeedEnum.Running) {
-				updateRunningToStationary();
+		update(intervalPeriodMilliseconds / 1000.0);
+	}
 
-			}
-		} else { // running at final point
-			initialConditions.vix = 0;
-			initialConditions.viy = 0;
-			if (initialSpeedEnum == FinalSpeedEnum.Stationary) {
-				updateStationaryToRunning();	
-			}
+	public void update(double dtSeconds) {
+		if (goalState == null) {
+			return;
+		}
+		double t = state.t[index];
+		state.t[index] = t + dtSeconds;
+		if (t <= restTime) {
+			trajectory.write(state, index, t + dtSeconds);
+			state.addOffset(index);
+		} else {
+			// came to rest at an earlier update, only pushes from the separation stage move it now
+			state.ax[index] = 0;
+			state.ay[index] = 0;
 		}
 	}
 
+	// no goal, or the trajectory has no acceleration left and nothing is pushing
+	public boolean isSettled() {
+		return (goalState == null || state.t[index] >= settleTime) && !isPushed();
+	}
+
+	// settled and not moving either
+	public boolean isAtRest() {
+		return (goalState == null || state.t[index] >= restTime) && !isPushed();
+	}
+
+	private boolean isPushed() {
+		return Math.abs(state.ovx[index]) > REST_SPEED || Math.abs(state.ovy[index]) > REST_SPEED;
+	}
+
 	public Position getCurrentPosition() {
-		return currentState.getPosition();
+		return new Position(state.x[index], state.y[index]);
 	}
 	
 	public double getVelocityX() {
-		return currentState.getVelocityX();
+		return state.vx[index];
 	}
 	
 	public double getVelocityY() {
-		return currentState.getVelocityY();
+		return state.vy[index];
+	}
+
+	public TeamState getTeamState() {
+		return state;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public GoalState getGoalState() {
+		return goalState;
+	}
+
+	public PlayerProfile getProfile() {
+		return profile;
+	}
+
+	// shared with every player of the same profile, built on first use
+	public TimeToReachTable getTimeToReachTable() {
+		if (timeToReachTable == null) {
+			timeToReachTable = TimeToReachTable.forProfile(profile);
+		}
+		return timeToReachTable;
+	}
+
+	// Soonest this player could be at (x, y) from where it is now. Only the
+	// velocity component toward the target counts; sideways motion is
+	// assumed to be shed without costing time.
+	public double timeToReach(double x, double y) {
+		double dx = x - state.x[index];
+		double dy = y - state.y[index];
+		double distance = Math.sqrt(dx * dx + dy * dy);
+		double speed = distance > 0 ? (state.vx[index] * dx + state.vy[index] * dy) / distance : 0;
+		return getTimeToReachTable().timeToReach(distance, speed);
+	}
+
+	public Trajectory getTrajectory() {
+		return trajectory;
+	}
+
+	public double getReplanTolerance() {
+		return replanTolerance;
+	}
+
+	// Lets a goal that keeps moving by a few centimetres (tracking the disc)
+	// be re-sent every tick without replanning: while the new goal stays
+	// within the tolerance of the one the trajectory was planned for, the
+	// player keeps following that trajectory.
+	public void setReplanTolerance(double replanTolerance) {
+		this.replanTolerance = replanTolerance;
 	}
 
 	public void setGoalState(GoalState goalState) {
+		if (isCoveredByPlan(goalState)) {
+			keepPlan(goalState);
+			return;
+		}
+		this.goalState = goalState;
+		plannedGoalState = goalState;
+		setTrajectory(plan(goalState));
+		state.t[index] = 0;
+		state.clearOffset(index);
+		if (trajectory != null) {
+			trajectory.write(state, index, 0);
+		}
+	}
+
+	// takes over a trajectory planned elsewhere; the first step happens on the next update
+	void assignGoal(GoalState goalState, Trajectory trajectory) {
 		this.goalState = goalState;
-		goalPositionChanged = true;
-		update();
+		plannedGoalState = goalState;
+		setTrajectory(trajectory);
+		state.t[index] = 0;
+		state.clearOffset(index);
+	}
+
+	// a missing trajectory freezes the player, which counts as at rest from the start
+	private void setTrajectory(Trajectory trajectory) {
+		this.trajectory = trajectory;
+		settleTime = trajectory == null ? 0 : trajectory.getSettleTime();
+		restTime = trajectory == null ? -1 : trajectory.getStopTime();
+		if (trajectory == null) {
+			// nothing of the old motion carries on
+			state.set(index, state.x[index], state.y[index], 0, 0, 0, 0);
+		}
+	}
+
+	// For goals isCoveredByPlan() accepts: keeps the current trajectory and
+	// patches what is left of it to end at goalState instead, without
+	// replanning or restarting it.
+	void keepPlan(GoalState goalState) {
+		this.goalState = goalState;
+		double shiftX = goalState.getPosition().getX() - plannedGoalState.getPosition().getX();
+		double shiftY = goalState.getPosition().getY() - plannedGoalState.getPosition().getY();
+		setTrajectory(trajectory.retarget(state.t[index], shiftX, shiftY, maxAcceleration));
+	}
+
+	boolean isCoveredByPlan(GoalState goalState) {
+		if (replanTolerance <= 0 || trajectory == null || plannedGoalState == null) {
+			return false;
+		}
+		if (goalState.getFinalSpeedEnum() != plannedGoalState.getFinalSpeedEnum()
+				|| goalState.getDesiredTime() != plannedGoalState.getDesiredTime()) {
+			return false;
+		}
+		double dx = goalState.getPosition().getX() - plannedGoalState.getPosition().getX();
+		double dy = goalState.getPosition().getY() - plannedGoalState.getPosition().getY();
+		return dx * dx + dy * dy <= replanTolerance * replanTolerance;
+	}
+
+	Trajectory plan(GoalState goalState) {
+		initialConditions.vix = state.vx[index];
+		initialConditions.viy = state.vy[index];
+		if (state.getVelocity(index) > REST_SPEED) {
+			initialSpeedEnum = FinalSpeedEnum.Running;
+		} else {
+			initialSpeedEnum = FinalSpeedEnum.Stationary;
+		}
+		initialConditions.dix = state.x[index];
+		initialConditions.diy = state.y[index];
+		initialConditions.dx = goalState.getPosition().getX() - initialConditions.dix;
+		initialConditions.dy = goalState.getPosition().getY() - initialConditions.diy;
+		// kinematic equations for getting to goal asap
+		if (goalState.getFinalSpeedEnum() == FinalSpeedEnum.Stationary) {
+			// not moving at goal, vf=0
+			if (initialSpeedEnum == FinalSpeedEnum.Running) {
+				return planRunningToStationary(goalState);
+			}
+		} else { // running at final point
+			if (initialSpeedEnum == FinalSpeedEnum.Running) {
+				return planRunningToRunning();
+			}
+			initialConditions.vix = 0;
+			initialConditions.viy = 0;
+			return planStationaryToRunning(goalState);
+		}
+		return null;
+	}
+
+	// Already running, re-targeted: swing the velocity round to full speed
+	// straight at the goal at maxAcceleration, in one pulse per axis. The
+	// turn bends the path, so the goal is aimed at rather than hit exactly.
+	private Trajectory planRunningToRunning() {
+		double vix = initialConditions.vix;
+		double viy = initialConditions.viy;
+		double distance = initialConditions.getTotalDistance();
+		// already on the goal, keep the heading
+		double directionX = distance > 0 ? initialConditions.dx / distance : vix / initialConditions.getInitialVelocity();
+		double directionY = distance > 0 ? initialConditions.dy / distance : viy / initialConditions.getInitialVelocity();
+		double dvx = maximumVelocity * directionX - vix;
+		double dvy = maximumVelocity * directionY - viy;
+		double dv = Math.sqrt(dvx * dvx + dvy * dvy);
+		if (!(dv > 0 && maxAcceleration > 0)) {
+			return new Trajectory(initialConditions.dix, initialConditions.diy, vix, viy, new double[0],
+					new double[0]);
+		}
+		double duration = dv / maxAcceleration;
+		return new Trajectory(initialConditions.dix, initialConditions.diy, vix, viy,
+				Trajectory.pulse(0, duration, dvx / duration), Trajectory.pulse(0, duration, dvy / duration));
 	}
 	
-	private void updateStationaryToRunning() {
-		double dxBeforeMaxSpeed = 0;
-		double dyBeforeMaxSpeed = 0;
-		double dxConstantSpeed = 0;
-		double dyConstantSpeed = 0;
+	private Trajectory planStationaryToRunning(GoalState goalState) {
 		double a = maxDeceleration;
-		initialConditions.vix = 0;
-		initialConditions.viy = 0;
 		double timeDesired = goalState.getDesiredTime() == -1 ? Math.sqrt(initialConditions.getTotalDistance() * 2.0 / a) : goalState.getDesiredTime();
 		//find acceleration
-		// v^2=vi^2 + 2*a*x
 		// x=v_i*t+0.5*a*t^2 -> (x-v_ix*t)/(0.5*t^2)
-		ax = (initialConditions.dx - initialConditions.vix * timeDesired) / (0.5 * Math.pow(timeDesired, 2));
-		ay = (initialConditions.dy - initialConditions.viy * timeDesired) / (0.5 * Math.pow(timeDesired, 2));
-		a = Math.sqrt(Math.pow(ax, 2) + Math.pow(ay, 2));
+		double ax = (initialConditions.dx - initialConditions.vix * timeDesired) / (0.5 * timeDesired * timeDesired);
+		double ay = (initialConditions.dy - initialConditions.viy * timeDesired) / (0.5 * timeDesired * timeDesired);
+		a = Math.sqrt(ax * ax + ay * ay);
 		if (a > maxAcceleration) {
 			// account for maximum acceleration
 			ax = ax * maxAcceleration / a;
 			ay = ay * maxAcceleration / a;
+			a = maxAcceleration;
+		}
+		if (!(a > 0)) {
+			return Trajectory.stationary(initialConditions.dix, initialConditions.diy);
 		}
-		//find current velocity
-		double vx = initialConditions.vix + ax * t;
-		double vy = initialConditions.viy + ay * t;
-		// account for hitting max velocity
-		//
-		double v = Math.sqrt(Math.pow(vx, 2) + Math.pow(vy, 2));
-		if (v > maximumVelocity) {
-			double tBeforeMaxSpeed = (maximumVelocity - initialConditions.getInitialVelocity())
-					/ maxAcceleration;
-			vx = vx * maximumVelocity / v;
-			vy = vy * maximumVelocity / v;
-			// v^2 = v0^2+2ax
-			if (ax != 0.0)
-				dxBeforeMaxSpeed = (Math.pow(vx, 2) - Math.pow(initialConditions.vix, 2)) / 2.0 / ax;
-			else
-				dxBeforeMaxSpeed = initialConditions.vix * tBeforeMaxSpeed;
-			if (ay != 0.0)
-				dyBeforeMaxSpeed = (Math.pow(vy, 2) - Math.pow(initialConditions.viy, 2)) / 2.0 / ay;
-			else
-				dyBeforeMaxSpeed = initialConditions.viy * tBeforeMaxSpeed;
-			dxConstantSpeed = vx * (t - tBeforeMaxSpeed);
-			dyConstantSpeed = vy * (t - tBeforeMaxSpeed);
-			ax = 0;
-			ay = 0;
-		}
-		currentState.setPosition(new Position(initialConditions.dix + dxBeforeMaxSpeed + initialConditions.vix * t + 0.5 * ax * Math.pow(t, 2) + dxConstantSpeed,
-					initialConditions.diy + dyBeforeMaxSpeed + initialConditions.viy * t + 0.5 * ay * Math.pow(t, 2) + dyConstantSpeed));
-		currentState.setVelocity(vx, vy);
+		// accelerate until hitting max velocity, then cruise
+		double tBeforeMaxSpeed = (maximumVelocity - initialConditions.getInitialVelocity()) / a;
+		return new Trajectory(initialConditions.dix, initialConditions.diy, initialConditions.vix,
+				initialConditions.viy, Trajectory.pulse(0, tBeforeMaxSpeed, ax), Trajectory.pulse(0, tBeforeMaxSpeed, ay));
 	}
 	
-	private void updateRunningToStationary() {
-		double vfx = 0;
-		double vfy = 0;
-		double dxBeforeMinSpeed = 0;
-		double dyBeforeMinSpeed = 0;
-		double dxConstantSpeed = 0;
-		double dyConstantSpeed = 0;
-		double tBeforeMinSpeed = 0;
+	private Trajectory planRunningToStationary(GoalState goalState) {
 		// currently running, use deceleration to stop
 		double vi = initialConditions.getInitialVelocity();
-		double vf = Math.sqrt(Math.pow(vfx, 2) + Math.pow(vfy, 2));
+		double vf = 0;
 		double desiredTime = goalState.getDesiredTime() == -1 ? (2 * initialConditions.getTotalDistance()) / (vf + vi) : goalState.getDesiredTime();
 		//calculate acceleration
-		ax = (initialConditions.dx - initialConditions.vix * desiredTime) * 2.0 / (Math.pow(desiredTime, 2));
-		ay = (initialConditions.dy - initialConditions.viy * desiredTime) * 2.0 / (Math.pow(desiredTime, 2));
+		double ax = (initialConditions.dx - initialConditions.vix * desiredTime) * 2.0 / (desiredTime * desiredTime);
+		double ay = (initialConditions.dy - initialConditions.viy * desiredTime) * 2.0 / (desiredTime * desiredTime);
 		
-		double a = Math.sqrt(Math.pow(ax, 2) + Math.pow(ay, 2));
+		double a = Math.sqrt(ax * ax + ay * ay);
 		if (a > maxDeceleration) {
 			// account for maximum acceleration
 			ax = ax * maxDeceleration / a;
 			ay = ay * maxDeceleration / a;
 		}
-		// find velocity
-		double vx = initialConditions.vix + ax * t;
-		double vy = initialConditions.viy + ay * t;
-		double dxNoAdjustment = initialConditions.vix * t + 0.5 * ax * Math.pow(t, 2);
-		double dyNoAdjustment = initialConditions.viy * t + 0.5 * ay * Math.pow(t, 2);
-		if ((vx < 0 && initialConditions.vix > 0) || (vx > 0 && initialConditions.vix < 0)) {
-			vx = 0;
-			//vf^2 = vi^2 + 2ad
-			dxBeforeMinSpeed = -Math.pow(initialConditions.vix, 2) / 2.0 / ax;
-			ax = 0;
-			dxNoAdjustment = 0;
-		}
-		if ((vy < 0 && initialConditions.viy > 0) || (vy > 0 && initialConditions.viy < 0)) {
-			vy = 0;
-			dyBeforeMinSpeed = -Math.pow(initialConditions.viy, 2) / 2.0 / ay;
-			ay = 0;
-			dyNoAdjustment = 0;
-		}
-		currentState.setPosition(new Position(initialConditions.dix + dxBeforeMinSpeed + dxNoAdjustment + dxConstantSpeed,
-				initialConditions.diy + dyBeforeMinSpeed + dyNoAdjustment + dyConstantSpeed));
-		currentState.setVelocity(vx, vy);
+		return new Trajectory(initialConditions.dix, initialConditions.diy, initialConditions.vix,
+				initialConditions.viy, decelerationPulse(initialConditions.vix, ax),
+				decelerationPulse(initialConditions.viy, ay));
+	}
+
+	// each axis decelerates until its velocity reaches zero and then holds
+	private static double[] decelerationPulse(double vi, double a) {
+		if (a == 0) {
+			return new double[0];
+		}
+		//vf = vi + a*t
+		double tBeforeMinSpeed = -vi / a;
+		if (tBeforeMinSpeed <= 0) {
+			tBeforeMinSpeed = Double.POSITIVE_INFINITY;
+		}
+		return Trajectory.pulse(0, tBeforeMinSpeed, a);
 	}
 
 }
@@ -0,0 +1,83 @@
+package model;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+import utilities.PlayerNameEnum;
+import utilities.TeamSide;
+
+// Dense integer ids for everyone on the field: the named players of both
+// sides plus any number of unnamed synthetic agents. An id is the player's
+// row in the TeamState, so id lookups are array reads; names resolve through
+// an EnumMap of per-side arrays indexed by PlayerNameEnum ordinal.
+public class PlayerRegistry {
+
+	public final static int NONE = -1;
+
+	private final Map<TeamSide, int[]> idsByName = new EnumMap<>(TeamSide.class);
+	private TeamSide[] sides = new TeamSide[PlayerNameEnum.values().length];
+	// null for synthetic agents
+	private PlayerNameEnum[] names = new PlayerNameEnum[PlayerNameEnum.values().length];
+	private final int[] sideCounts = new int[TeamSide.values().length];
+	private int size;
+
+	public PlayerRegistry() {
+		for (TeamSide side : TeamSide.values()) {
+			int[] ids = new int[PlayerNameEnum.values().length];
+			Arrays.fill(ids, NONE);
+			idsByName.put(side, ids);
+		}
+	}
+
+	public int register(TeamSide side, PlayerNameEnum name) {
+		int[] ids = idsByName.get(side);
+		if (ids[name.ordinal()] != NONE) {
+			throw new IllegalArgumentException(side + " " + name + " is already on the field");
+		}
+		int id = add(side, name);
+		ids[name.ordinal()] = id;
+		return id;
+	}
+
+	public int registerAgent(TeamSide side) {
+		return add(side, null);
+	}
+
+	private int add(TeamSide side, PlayerNameEnum name) {
+		if (size == sides.length) {
+			sides = Arrays.copyOf(sides, size * 2);
+			names = Arrays.copyOf(names, size * 2);
+		}
+		sides[size] = side;
+		names[size] = name;
+		sideCounts[side.ordinal()]++;
+		return size++;
+	}
+
+	// NONE if nobody by that name is on that side
+	public int getId(TeamSide side, PlayerNameEnum name) {
+		return idsByName.get(side)[name.ordinal()];
+	}
+
+	public TeamSide getSide(int id) {
+		return sides[id];
+	}
+
+	public PlayerNameEnum getName(int id) {
+		return names[id];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int countOnSide(TeamSide side) {
+		return sideCounts[side.ordinal()];
+	}
+
+	// shared with snapshots, which only read the rows they were taken with
+	PlayerNameEnum[] getNames() {
+		return names;
+	}
+}
@@ -0,0 +1,33 @@
+package model;
+
+// one row at a time, also the tail loop of the vector backend
+public class ScalarBatchStepper implements BatchStepper {
+
+	@Override
+	public void step(TrajectoryBatch batch, TeamState state, double dtSeconds) {
+		stepRows(batch, state, dtSeconds, 0, batch.size());
+	}
+
+	static void stepRows(TrajectoryBatch batch, TeamState state, double dtSeconds, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (!batch.packed[i]) {
+				continue;
+			}
+			double t = state.t[i] + dtSeconds;
+			state.t[i] = t;
+			// same operations in the same order as Trajectory, so results match bit for bit
+			double sinceX = t - batch.startX[i];
+			double tauX = Math.min(Math.max(sinceX, 0), batch.durationX[i]);
+			double sinceY = t - batch.startY[i];
+			double tauY = Math.min(Math.max(sinceY, 0), batch.durationY[i]);
+			double aX = batch.accelerationX[i];
+			double aY = batch.accelerationY[i];
+			state.x[i] = batch.x0[i] + batch.vx0[i] * t + aX * tauX * (sinceX - 0.5 * tauX) + state.ox[i];
+			state.y[i] = batch.y0[i] + batch.vy0[i] * t + aY * tauY * (sinceY - 0.5 * tauY) + state.oy[i];
+			state.vx[i] = batch.vx0[i] + aX * tauX + state.ovx[i];
+			state.vy[i] = batch.vy0[i] + aY * tauY + state.ovy[i];
+			state.ax[i] = sinceX >= 0 && sinceX < batch.durationX[i] ? aX : 0;
+			state.ay[i] = sinceY >= 0 && sinceY < batch.durationY[i] ? aY : 0;
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import utilities.GoalState;
+import utilities.PlayerNameEnum;
+import utilities.PlayerProfile;
+import utilities.Position;
+import utilities.TeamSide;
+import utilities.TimedGoal;
+
+// one play to simulate offline: where everyone starts and when they get new
+// goals. Players are keyed by side and name; the name-only calls mean Home.
+public class Scenario {
+
+	private final double duration; // s
+	private final Map<TeamSide, Map<PlayerNameEnum, Position>> initialPositions = new EnumMap<>(TeamSide.class);
+	private final Map<TeamSide, Map<PlayerNameEnum, PlayerProfile>> profiles = new EnumMap<>(TeamSide.class);
+	private final List<TimedGoal> goals = new ArrayList<>();
+
+	public Scenario(double duration) {
+		this.duration = duration;
+		for (TeamSide side : TeamSide.values()) {
+			initialPositions.put(side, new EnumMap<>(PlayerNameEnum.class));
+			profiles.put(side, new EnumMap<>(PlayerNameEnum.class));
+		}
+	}
+
+	public Scenario addPlayer(PlayerNameEnum playerName, Position initialPosition, PlayerProfile profile) {
+		return addPlayer(TeamSide.Home, playerName, initialPosition, profile);
+	}
+
+	public Scenario addPlayer(TeamSide side, PlayerNameEnum playerName, Position initialPosition,
+			PlayerProfile profile) {
+		initialPositions.get(side).put(playerName, initialPosition);
+		profiles.get(side).put(playerName, profile);
+		return this;
+	}
+
+	public Scenario addGoal(double time, PlayerNameEnum playerName, GoalState goalState) {
+		return addGoal(time, TeamSide.Home, playerName, goalState);
+	}
+
+	public Scenario addGoal(double time, TeamSide side, PlayerNameEnum playerName, GoalState goalState) {
+		if (!initialPositions.get(side).containsKey(playerName)) {
+			throw new IllegalArgumentException(side + " " + playerName + " is not part of the scenario");
+		}
+		goals.add(new TimedGoal(time, side, playerName, goalState));
+		return this;
+	}
+
+	public double getDuration() {
+		return duration;
+	}
+
+	public Map<PlayerNameEnum, Position> getInitialPositions() {
+		return getInitialPositions(TeamSide.Home);
+	}
+
+	public Map<PlayerNameEnum, Position> getInitialPositions(TeamSide side) {
+		return Collections.unmodifiableMap(initialPositions.get(side));
+	}
+
+	public PlayerProfile getProfile(PlayerNameEnum playerName) {
+		return getProfile(TeamSide.Home, playerName);
+	}
+
+	public PlayerProfile getProfile(TeamSide side, PlayerNameEnum playerName) {
+		return profiles.get(side).get(playerName);
+	}
+
+	// goals in the order they take effect
+	public List<TimedGoal> getGoals() {
+		List<TimedGoal> sorted = new ArrayList<>(goals);
+		sorted.sort(Comparator.comparingDouble(TimedGoal::getTime));
+		return sorted;
+	}
+}
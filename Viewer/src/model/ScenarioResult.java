@@ -0,0 +1,67 @@
+package model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import utilities.PlayerNameEnum;
+import utilities.Position;
+import utilities.TeamSide;
+
+// final state of a Scenario per side and name; the name-only calls mean Home
+public class ScenarioResult {
+
+	private final Scenario scenario;
+	private final Map<TeamSide, Map<PlayerNameEnum, Position>> finalPositions = new EnumMap<>(TeamSide.class);
+	private final Map<TeamSide, Map<PlayerNameEnum, Position>> finalVelocities = new EnumMap<>(TeamSide.class);
+	private final Map<TeamSide, Map<PlayerNameEnum, Double>> arrivalTimes = new EnumMap<>(TeamSide.class);
+
+	ScenarioResult(Scenario scenario) {
+		this.scenario = scenario;
+		for (TeamSide side : TeamSide.values()) {
+			finalPositions.put(side, new EnumMap<>(PlayerNameEnum.class));
+			finalVelocities.put(side, new EnumMap<>(PlayerNameEnum.class));
+			arrivalTimes.put(side, new EnumMap<>(PlayerNameEnum.class));
+		}
+	}
+
+	void setFinalState(TeamSide side, PlayerNameEnum playerName, Position position, Position velocity) {
+		finalPositions.get(side).put(playerName, position);
+		finalVelocities.get(side).put(playerName, velocity);
+	}
+
+	void setArrivalTime(TeamSide side, PlayerNameEnum playerName, double arrivalTime) {
+		arrivalTimes.get(side).put(playerName, arrivalTime);
+	}
+
+	public Scenario getScenario() {
+		return scenario;
+	}
+
+	public Map<PlayerNameEnum, Position> getFinalPositions() {
+		return getFinalPositions(TeamSide.Home);
+	}
+
+	public Map<PlayerNameEnum, Position> getFinalPositions(TeamSide side) {
+		return Collections.unmodifiableMap(finalPositions.get(side));
+	}
+
+	// velocity as a vector, in m/s
+	public Map<PlayerNameEnum, Position> getFinalVelocities() {
+		return getFinalVelocities(TeamSide.Home);
+	}
+
+	public Map<PlayerNameEnum, Position> getFinalVelocities(TeamSide side) {
+		return Collections.unmodifiableMap(finalVelocities.get(side));
+	}
+
+	// time each player first reached its last goal, NaN if it never did
+	public double getArrivalTime(PlayerNameEnum playerName) {
+		return getArrivalTime(TeamSide.Home, playerName);
+	}
+
+	public double getArrivalTime(TeamSide side, PlayerNameEnum playerName) {
+		Double arrivalTime = arrivalTimes.get(side).get(playerName);
+		return arrivalTime == null ? Double.NaN : arrivalTime;
+	}
+}
@@ -0,0 +1,149 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import utilities.GoalState;
+import utilities.PlayerNameEnum;
+import utilities.Position;
+import utilities.TeamSide;
+import utilities.TimedGoal;
+
+// simulates batches of independent scenarios across all cores
+public class ScenarioRunner {
+
+	public final static double DEFAULT_ARRIVAL_TOLERANCE = 0.1; // m
+	// scenarios per leaf task, small enough to balance uneven scenario lengths
+	private final static int BATCH_SIZE = 4;
+
+	private final ForkJoinPool pool;
+	private final double tickSeconds;
+	private final double arrivalTolerance;
+
+	public ScenarioRunner() {
+		this(ForkJoinPool.commonPool(), SimulationEngine.DEFAULT_TICK_SECONDS, DEFAULT_ARRIVAL_TOLERANCE);
+	}
+
+	public ScenarioRunner(ForkJoinPool pool, double tickSeconds, double arrivalTolerance) {
+		this.pool = pool;
+		this.tickSeconds = tickSeconds;
+		this.arrivalTolerance = arrivalTolerance;
+	}
+
+	public List<ScenarioResult> runAll(List<Scenario> scenarios) {
+		Scenario[] input = scenarios.toArray(new Scenario[0]);
+		ScenarioResult[] results = new ScenarioResult[input.length];
+		pool.invoke(new ScenarioTask(input, results, 0, input.length));
+		return Arrays.asList(results);
+	}
+
+	public ScenarioResult run(Scenario scenario) {
+		SimulationEngine engine = new SimulationEngine(tickSeconds);
+		List<Player> players = new ArrayList<>();
+		for (TeamSide side : TeamSide.values()) {
+			for (Map.Entry<PlayerNameEnum, Position> start : scenario.getInitialPositions(side).entrySet()) {
+				players.add(engine.addPlayer(side, start.getKey(), start.getValue(),
+						scenario.getProfile(side, start.getKey())));
+			}
+		}
+		ScenarioResult result = new ScenarioResult(scenario);
+		TeamState state = engine.getTeamState();
+		double[] arrivalTimes = new double[state.size()];
+		Arrays.fill(arrivalTimes, Double.NaN);
+
+		// positions at the start of the tick, players cover ~1 m per tick at speed
+		double[] previousX = new double[state.size()];
+		double[] previousY = new double[state.size()];
+
+		List<TimedGoal> goals = scenario.getGoals();
+		int nextGoal = 0;
+		long ticks = Math.round(scenario.getDuration() / tickSeconds);
+		for (long tick = 0; tick < ticks; tick++) {
+			double now = tick * tickSeconds;
+			while (nextGoal < goals.size() && goals.get(nextGoal).getTime() <= now + 1e-9) {
+				TimedGoal goal = goals.get(nextGoal++);
+				Player player = engine.getPlayer(goal.getSide(), goal.getPlayerName());
+				player.setGoalState(goal.getGoalState());
+				arrivalTimes[player.getIndex()] = Double.NaN;
+			}
+			System.arraycopy(state.x, 0, previousX, 0, previousX.length);
+			System.arraycopy(state.y, 0, previousY, 0, previousY.length);
+			engine.step();
+			recordArrivals(engine, players, arrivalTimes, previousX, previousY, now);
+		}
+
+		PlayerRegistry registry = engine.getTeam().getRegistry();
+		for (Player player : players) {
+			int id = player.getIndex();
+			result.setFinalState(registry.getSide(id), registry.getName(id), player.getCurrentPosition(),
+					new Position(player.getVelocityX(), player.getVelocityY()));
+			result.setArrivalTime(registry.getSide(id), registry.getName(id), arrivalTimes[id]);
+		}
+		return result;
+	}
+
+	// An arrival is the first point on the straight line from a player's
+	// position at the start of the tick to its position now that comes within
+	// the tolerance of the goal, timed by how far along that line it lies.
+	private void recordArrivals(SimulationEngine engine, List<Player> players, double[] arrivalTimes,
+			double[] previousX, double[] previousY, double tickStart) {
+		TeamState state = engine.getTeamState();
+		for (Player player : players) {
+			int index = player.getIndex();
+			GoalState goalState = player.getGoalState();
+			if (goalState == null || !Double.isNaN(arrivalTimes[index])) {
+				continue;
+			}
+			double fromX = previousX[index] - goalState.getPosition().getX();
+			double fromY = previousY[index] - goalState.getPosition().getY();
+			double dx = state.x[index] - previousX[index];
+			double dy = state.y[index] - previousY[index];
+			// |from + s*d|^2 = tolerance^2, smallest root in [0, 1]
+			double a = dx * dx + dy * dy;
+			double b = fromX * dx + fromY * dy;
+			double c = fromX * fromX + fromY * fromY - arrivalTolerance * arrivalTolerance;
+			double fraction;
+			if (c <= 0) {
+				fraction = 0;
+			} else if (a > 0 && b * b - a * c >= 0) {
+				fraction = (-b - Math.sqrt(b * b - a * c)) / a;
+			} else {
+				continue;
+			}
+			if (fraction >= 0 && fraction <= 1) {
+				arrivalTimes[index] = tickStart + fraction * tickSeconds;
+			}
+		}
+	}
+
+	private class ScenarioTask extends RecursiveAction {
+		private final Scenario[] scenarios;
+		private final ScenarioResult[] results;
+		private final int from;
+		private final int to;
+
+		ScenarioTask(Scenario[] scenarios, ScenarioResult[] results, int from, int to) {
+			this.scenarios = scenarios;
+			this.results = results;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= BATCH_SIZE) {
+				for (int i = from; i < to; i++) {
+					results[i] = run(scenarios[i]);
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new ScenarioTask(scenarios, results, from, middle),
+					new ScenarioTask(scenarios, results, middle, to));
+		}
+	}
+}
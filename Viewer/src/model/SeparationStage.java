@@ -0,0 +1,125 @@
+package model;
+
+import java.util.Arrays;
+
+// Optional crowding stage run after every step. Players closer than the
+// separation radius push each other apart; the push lives in an offset on
+// top of each planned trajectory and springs back once the crowd clears.
+// A grid finds candidate pairs so the cost stays near-linear in players.
+public class SeparationStage {
+
+	// spreads coincident players in different directions
+	private final static double GOLDEN_ANGLE = 2.399963229728653;
+
+	private final double radius; // m
+	private final double stiffness; // m/s/s per m of overlap
+	private final double springBack; // m/s/s per m of offset
+	private final double damping; // m/s/s per m/s of offset velocity
+	private final SpatialGrid broadPhase;
+	private int[] neighbours = new int[16];
+	private double[] pushX = new double[0];
+	private double[] pushY = new double[0];
+	private boolean[] crowded = new boolean[0];
+	private long lastCandidateCount;
+
+	public SeparationStage(double radius, double stiffness, double springBack, double damping) {
+		this.radius = radius;
+		this.stiffness = stiffness;
+		this.springBack = springBack;
+		this.damping = damping;
+		this.broadPhase = new SpatialGrid(radius, 16);
+	}
+
+	public double getRadius() {
+		return radius;
+	}
+
+	// grid entries the last apply() looked at to find neighbours, about
+	// players times crowd density when the broad phase works
+	public long getLastCandidateCount() {
+		return lastCandidateCount;
+	}
+
+	void apply(TeamState state, Player[] players, double dtSeconds) {
+		int size = state.size();
+		if (pushX.length < size) {
+			pushX = new double[size];
+			pushY = new double[size];
+			crowded = new boolean[size];
+		}
+		broadPhase.update(state);
+		long visitedBefore = broadPhase.getVisitedCount();
+		// gather every push before moving anyone so the result does not depend on row order
+		for (int i = 0; i < size; i++) {
+			double ax = 0;
+			double ay = 0;
+			boolean overlapping = false;
+			int count = broadPhase.queryRadius(state.x[i], state.y[i], radius, neighbours);
+			if (count > neighbours.length) {
+				neighbours = Arrays.copyOf(neighbours, Integer.highestOneBit(count) * 2);
+				count = broadPhase.queryRadius(state.x[i], state.y[i], radius, neighbours);
+			}
+			for (int n = 0; n < count; n++) {
+				int j = neighbours[n];
+				if (j == i) {
+					continue;
+				}
+				double dx = state.x[i] - state.x[j];
+				double dy = state.y[i] - state.y[j];
+				double distance = Math.sqrt(dx * dx + dy * dy);
+				if (distance >= radius) {
+					continue;
+				}
+				overlapping = true;
+				double push = stiffness * (radius - distance);
+				if (distance == 0) {
+					double angle = GOLDEN_ANGLE * (i + j);
+					double sign = i < j ? 1 : -1;
+					ax += sign * Math.cos(angle) * push;
+					ay += sign * Math.sin(angle) * push;
+				} else {
+					ax += dx / distance * push;
+					ay += dy / distance * push;
+				}
+			}
+			ax -= springBack * state.ox[i] + damping * state.ovx[i];
+			ay -= springBack * state.oy[i] + damping * state.ovy[i];
+			double a = Math.sqrt(ax * ax + ay * ay);
+			double maxAcceleration = players[i].getProfile().getMaxAcceleration();
+			if (a > maxAcceleration) {
+				ax = ax * maxAcceleration / a;
+				ay = ay * maxAcceleration / a;
+			}
+			pushX[i] = ax;
+			pushY[i] = ay;
+			crowded[i] = overlapping;
+		}
+		lastCandidateCount = broadPhase.getVisitedCount() - visitedBefore;
+		for (int i = 0; i < size; i++) {
+			double dvx = pushX[i] * dtSeconds;
+			double dvy = pushY[i] * dtSeconds;
+			if (!crowded[i] && Math.abs(state.ovx[i] + dvx) <= Player.REST_SPEED
+					&& Math.abs(state.ovy[i] + dvy) <= Player.REST_SPEED) {
+				// left alone the spring and damping only ever shrink it, so drop
+				// the residue and let the player count as standing still again
+				state.vx[i] -= state.ovx[i];
+				state.vy[i] -= state.ovy[i];
+				state.ovx[i] = 0;
+				state.ovy[i] = 0;
+				continue;
+			}
+			state.ovx[i] += dvx;
+			state.ovy[i] += dvy;
+			double dox = state.ovx[i] * dtSeconds;
+			double doy = state.ovy[i] * dtSeconds;
+			state.ox[i] += dox;
+			state.oy[i] += doy;
+			state.x[i] += dox;
+			state.y[i] += doy;
+			state.vx[i] += dvx;
+			state.vy[i] += dvy;
+			state.ax[i] += pushX[i];
+			state.ay[i] += pushY[i];
+		}
+	}
+}
@@ -0,0 +1,196 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import metrics.SimulationMetrics;
+import utilities.PlayerNameEnum;
+import utilities.PlayerProfile;
+import utilities.Position;
+import utilities.TeamSide;
+
+public class SimulationEngine {
+
+	public final static double DEFAULT_TICK_SECONDS = 0.1;
+	// longest frame advance() will catch up on, so a stalled caller cannot
+	// queue an unbounded burst of substeps
+	public final static double MAX_FRAME_SECONDS = 0.25;
+
+	private final double tickSeconds;
+	private final Team team = new Team();
+	private final GoalCommandQueue commands = new GoalCommandQueue();
+	private TickListener[] tickListeners = new TickListener[0];
+	private volatile TeamSnapshot snapshot;
+	private SimulationMetrics metrics;
+	private long tickCount;
+	private double simulationTime;
+	private double accumulator;
+
+	public SimulationEngine() {
+		this(DEFAULT_TICK_SECONDS);
+	}
+
+	public SimulationEngine(double tickSeconds) {
+		if (tickSeconds <= 0) {
+			throw new IllegalArgumentException("tick must be positive: " + tickSeconds);
+		}
+		this.tickSeconds = tickSeconds;
+	}
+
+	public Player addPlayer(PlayerNameEnum playerName, Position initialPosition, double runningSpeed,
+			double maximumVelocity, double acceleration, double deceleration) {
+		return addPlayer(playerName, initialPosition,
+				new PlayerProfile(runningSpeed, maximumVelocity, acceleration, deceleration));
+	}
+
+	public Player addPlayer(PlayerNameEnum playerName, Position initialPosition, PlayerProfile profile) {
+		return team.addPlayer(playerName, initialPosition, profile);
+	}
+
+	public Player addPlayer(TeamSide side, PlayerNameEnum playerName, Position initialPosition,
+			PlayerProfile profile) {
+		return team.addPlayer(side, playerName, initialPosition, profile);
+	}
+
+	public Player addAgent(TeamSide side, Position initialPosition, PlayerProfile profile) {
+		return team.addAgent(side, initialPosition, profile);
+	}
+
+	public Player getPlayer(PlayerNameEnum playerName) {
+		return team.getPlayer(playerName);
+	}
+
+	public Player getPlayer(TeamSide side, PlayerNameEnum playerName) {
+		return team.getPlayer(side, playerName);
+	}
+
+	public Collection<Player> getPlayers() {
+		return team.getPlayers();
+	}
+
+	// the way to change goals from other threads, applied at the start of the next step
+	public GoalCommandQueue getCommandQueue() {
+		return commands;
+	}
+
+	// for callers that look at the team before stepping, step() does this itself
+	public int drainCommands() {
+		return commands.drainTo(team);
+	}
+
+	public void addTickListener(TickListener listener) {
+		tickListeners = Arrays.copyOf(tickListeners, tickListeners.length + 1);
+		tickListeners[tickListeners.length - 1] = listener;
+	}
+
+	public void removeTickListener(TickListener listener) {
+		tickListeners = Arrays.stream(tickListeners).filter(l -> l != listener).toArray(TickListener[]::new);
+	}
+
+	// times every tick into the given metrics, null switches timing off
+	public void setMetrics(SimulationMetrics metrics) {
+		this.metrics = metrics;
+		team.setMetrics(metrics);
+	}
+
+	public SimulationMetrics getMetrics() {
+		return metrics;
+	}
+
+	public Team getTeam() {
+		return team;
+	}
+
+	public TeamState getTeamState() {
+		return team.getTeamState();
+	}
+
+	// copies the current state for readers on other threads
+	public TeamSnapshot publishSnapshot() {
+		TeamSnapshot published = new TeamSnapshot(simulationTime, tickCount, team.getPlayerNames(), team.getTeamState());
+		snapshot = published;
+		return published;
+	}
+
+	// the last published snapshot, null before the first publish
+	public TeamSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	public Position getPosition(PlayerNameEnum playerName) {
+		return team.getPlayer(playerName).getCurrentPosition();
+	}
+
+	// advances every player by one tick, not tied to any wall clock
+	public void step() {
+		step(tickSeconds);
+	}
+
+	// variable timestep, for callers that already own the clock
+	public void step(double dtSeconds) {
+		commands.drainTo(team);
+		if (metrics != null) {
+			long start = System.nanoTime();
+			team.step(dtSeconds);
+			metrics.recordTick(System.nanoTime() - start);
+		} else {
+			team.step(dtSeconds);
+		}
+		finishStep(dtSeconds);
+	}
+
+	// Covers a whole idle stretch in one step, for when Team.canSkipAhead()
+	// says nothing would change between ticks but the passing of time. It
+	// counts, and is reported to listeners, as a single tick of that length.
+	// Commands are not drained here, ones that arrive meanwhile wait for the
+	// next step.
+	public void skip(double dtSeconds) {
+		if (!team.canSkipAhead()) {
+			throw new IllegalStateException("players are still accelerating, step them instead");
+		}
+		team.skip(dtSeconds);
+		finishStep(dtSeconds);
+	}
+
+	private void finishStep(double dtSeconds) {
+		tickCount++;
+		simulationTime += dtSeconds;
+		for (TickListener listener : tickListeners) {
+			listener.onTick(this);
+		}
+	}
+
+	// fixed-substep mode: banks the elapsed frame time and runs as many whole
+	// ticks as it covers, so results do not depend on how frames are timed.
+	// Returns the fraction of a tick left over for interpolating the render.
+	public double advance(double elapsedSeconds) {
+		accumulator += Math.min(Math.max(elapsedSeconds, 0), MAX_FRAME_SECONDS);
+		while (accumulator >= tickSeconds) {
+			step(tickSeconds);
+			accumulator -= tickSeconds;
+		}
+		return accumulator / tickSeconds;
+	}
+
+	public void run(long ticks) {
+		for (long i = 0; i < ticks; i++) {
+			step();
+		}
+	}
+
+	public void runFor(double seconds) {
+		run(Math.round(seconds / tickSeconds));
+	}
+
+	public double getTickSeconds() {
+		return tickSeconds;
+	}
+
+	public long getTickCount() {
+		return tickCount;
+	}
+
+	public double getSimulationTime() {
+		return simulationTime;
+	}
+}
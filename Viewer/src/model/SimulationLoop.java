@@ -0,0 +1,54 @@
+package model;
+
+import java.util.concurrent.locks.LockSupport;
+
+// Drives a SimulationEngine in real time on its own thread and publishes a
+// TeamSnapshot after every advance, leaving the Swing EDT to paint only.
+public class SimulationLoop implements Runnable {
+
+	private final SimulationEngine engine;
+	private final long periodNanos;
+	private volatile boolean running;
+	private Thread thread;
+
+	public SimulationLoop(SimulationEngine engine, double periodSeconds) {
+		this.engine = engine;
+		this.periodNanos = (long) (periodSeconds * 1e9);
+	}
+
+	public synchronized void start() {
+		if (thread != null) {
+			return;
+		}
+		running = true;
+		engine.publishSnapshot();
+		thread = new Thread(this, "simulation");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	public synchronized void stop() {
+		running = false;
+		if (thread != null) {
+			thread.interrupt();
+			thread = null;
+		}
+	}
+
+	@Override
+	public void run() {
+		long previousTimeStamp = System.nanoTime();
+		long nextWakeUp = previousTimeStamp + periodNanos;
+		while (running && !Thread.currentThread().isInterrupted()) {
+			long currentTime = System.nanoTime();
+			engine.advance((currentTime - previousTimeStamp) / 1e9);
+			engine.publishSnapshot();
+			previousTimeStamp = currentTime;
+			long sleep = nextWakeUp - System.nanoTime();
+			if (sleep > 0) {
+				LockSupport.parkNanos(sleep);
+			}
+			nextWakeUp = Math.max(nextWakeUp + periodNanos, System.nanoTime());
+		}
+	}
+}
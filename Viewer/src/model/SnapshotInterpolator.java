@@ -0,0 +1,92 @@
+package model;
+
+// Blends the last two published snapshots for a renderer that runs faster
+// than, or out of phase with, the simulation. Drawing stays one publish
+// behind and eases from the previous snapshot to the current one over the
+// simulation time that separated them, so motion is smooth whatever the
+// two clocks are doing.
+//
+// Between snapshots positions follow a cubic Hermite curve through both
+// positions and both velocities, which reproduces constant-acceleration
+// motion exactly. When the next snapshot is late the current one is carried
+// forward on its velocity, for at most maxExtrapolation of an interval.
+public class SnapshotInterpolator {
+
+	private final double maxExtrapolation;
+	private TeamSnapshot previous;
+	private TeamSnapshot current;
+	private long currentArrivalNanos;
+
+	public SnapshotInterpolator() {
+		this(0);
+	}
+
+	// maxExtrapolation is a fraction of the interval between snapshots
+	public SnapshotInterpolator(double maxExtrapolation) {
+		this.maxExtrapolation = maxExtrapolation;
+	}
+
+	// takes a newly published snapshot; repeats of the current one are ignored
+	public void offer(TeamSnapshot snapshot, long nowNanos) {
+		if (snapshot == null || snapshot == current) {
+			return;
+		}
+		if (current != null && snapshot.getTick() == current.getTick()) {
+			return;
+		}
+		previous = current;
+		current = snapshot;
+		currentArrivalNanos = nowNanos;
+	}
+
+	public TeamSnapshot getCurrent() {
+		return current;
+	}
+
+	// how far to blend from the previous snapshot to the current one: 0..1
+	// interpolates, above 1 extrapolates past the current snapshot
+	public double alpha(long nowNanos) {
+		double interval = interval();
+		if (interval <= 0) {
+			return 1;
+		}
+		double alpha = (nowNanos - currentArrivalNanos) / 1e9 / interval;
+		return Math.min(Math.max(alpha, 0), 1 + maxExtrapolation);
+	}
+
+	public int size() {
+		return current == null ? 0 : current.size();
+	}
+
+	public double getX(int index, double alpha) {
+		if (alpha >= 1) {
+			return current.getX(index) + current.getVelocityX(index) * (alpha - 1) * interval();
+		}
+		return hermite(previous.getX(index), previous.getVelocityX(index), current.getX(index),
+				current.getVelocityX(index), alpha);
+	}
+
+	public double getY(int index, double alpha) {
+		if (alpha >= 1) {
+			return current.getY(index) + current.getVelocityY(index) * (alpha - 1) * interval();
+		}
+		return hermite(previous.getY(index), previous.getVelocityY(index), current.getY(index),
+				current.getVelocityY(index), alpha);
+	}
+
+	// s of simulation time between the two snapshots, 0 if there is nothing to blend
+	private double interval() {
+		if (previous == null || previous.size() != current.size()) {
+			return 0;
+		}
+		return current.getTime() - previous.getTime();
+	}
+
+	private double hermite(double p0, double v0, double p1, double v1, double s) {
+		double h = interval();
+		double s2 = s * s;
+		double s3 = s2 * s;
+		return (2 * s3 - 3 * s2 + 1) * p0 + (s3 - 2 * s2 + s) * h * v0 + (-2 * s3 + 3 * s2) * p1
+				+ (s3 - s2) * h * v1;
+	}
+}
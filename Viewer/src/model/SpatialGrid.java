@@ -0,0 +1,278 @@
+package model;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+// Uniform grid over player positions for radius and nearest-neighbour queries.
+// Cells are hashed into a bucket table so the field needs no bounds, and
+// update() only relinks players whose cell changed since the last tick. The
+// table is rehashed as players are added, keeping chains short.
+public class SpatialGrid {
+
+	private final static int EMPTY = -1;
+
+	private final double cellSize; // m
+	private int[] bucketHead;
+	private int mask;
+	private int[] next = new int[0];
+	private int[] previous = new int[0];
+	private int[] bucket = new int[0];
+	private long[] cell = new long[0];
+	private double[] x = new double[0];
+	private double[] y = new double[0];
+	private int size;
+	// bucket entries looked at by queries so far, hash collisions included
+	private long visited;
+	// squared distances of the best candidates in nearest(), reused across queries
+	private double[] bestDistances = new double[0];
+	// cell bounds of everything indexed, limits how far nearest() searches
+	private int minCellX;
+	private int maxCellX;
+	private int minCellY;
+	private int maxCellY;
+
+	public SpatialGrid(double cellSize, int expectedPlayers) {
+		if (cellSize <= 0) {
+			throw new IllegalArgumentException("cell size must be positive: " + cellSize);
+		}
+		this.cellSize = cellSize;
+		allocateBuckets(expectedPlayers);
+	}
+
+	public double getCellSize() {
+		return cellSize;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void update(TeamState state) {
+		if (state.size() > size) {
+			grow(state.size());
+		}
+		minCellX = Integer.MAX_VALUE;
+		maxCellX = Integer.MIN_VALUE;
+		minCellY = Integer.MAX_VALUE;
+		maxCellY = Integer.MIN_VALUE;
+		for (int i = 0; i < size; i++) {
+			x[i] = state.x[i];
+			y[i] = state.y[i];
+			int cellX = cellCoordinate(x[i]);
+			int cellY = cellCoordinate(y[i]);
+			long key = key(cellX, cellY);
+			if (key != cell[i] || bucket[i] == EMPTY) {
+				unlink(i);
+				link(i, cellX, cellY, key);
+			}
+			minCellX = Math.min(minCellX, cellX);
+			maxCellX = Math.max(maxCellX, cellX);
+			minCellY = Math.min(minCellY, cellY);
+			maxCellY = Math.max(maxCellY, cellY);
+		}
+	}
+
+	// Bucket entries queries have looked at so far. Entries from other cells
+	// that hash to the same bucket count too, so this grows with the work
+	// done rather than with the matches found.
+	public long getVisitedCount() {
+		return visited;
+	}
+
+	public double getX(int index) {
+		return x[index];
+	}
+
+	public double getY(int index) {
+		return y[index];
+	}
+
+	// Writes the players within radius of (qx, qy) into result and returns how
+	// many matched; only the first result.length matches are written.
+	public int queryRadius(double qx, double qy, double radius, int[] result) {
+		return queryRadius(qx, qy, radius, null, result);
+	}
+
+	public int queryRadius(double qx, double qy, double radius, IntPredicate filter, int[] result) {
+		double radiusSquared = radius * radius;
+		int fromX = Math.max(cellCoordinate(qx - radius), minCellX);
+		int toX = Math.min(cellCoordinate(qx + radius), maxCellX);
+		int fromY = Math.max(cellCoordinate(qy - radius), minCellY);
+		int toY = Math.min(cellCoordinate(qy + radius), maxCellY);
+		int count = 0;
+		long entries = 0;
+		for (int cellX = fromX; cellX <= toX; cellX++) {
+			for (int cellY = fromY; cellY <= toY; cellY++) {
+				long key = key(cellX, cellY);
+				for (int i = bucketHead[hash(cellX, cellY)]; i != EMPTY; i = next[i]) {
+					entries++;
+					if (cell[i] != key || (filter != null && !filter.test(i))) {
+						continue;
+					}
+					double dx = x[i] - qx;
+					double dy = y[i] - qy;
+					if (dx * dx + dy * dy <= radiusSquared) {
+						if (count < result.length) {
+							result[count] = i;
+						}
+						count++;
+					}
+				}
+			}
+		}
+		visited += entries;
+		return count;
+	}
+
+	// Writes up to result.length nearest players to (qx, qy), closest first, and
+	// returns how many were found. Queries share scratch space, so call from
+	// one thread at a time.
+	public int nearest(double qx, double qy, int[] result) {
+		return nearest(qx, qy, null, result);
+	}
+
+	public int nearest(double qx, double qy, IntPredicate filter, int[] result) {
+		int k = result.length;
+		if (k == 0 || size == 0) {
+			return 0;
+		}
+		if (bestDistances.length < k) {
+			bestDistances = new double[k];
+		}
+		int found = 0;
+		// Start from the occupied cell nearest the query, so a query far outside
+		// the crowd does not walk empty rings. Rings still bound the distance
+		// from the query itself: it is at least as far beyond the clamped edge.
+		int centreX = Math.min(Math.max(cellCoordinate(qx), minCellX), maxCellX);
+		int centreY = Math.min(Math.max(cellCoordinate(qy), minCellY), maxCellY);
+		int maxRing = Math.max(Math.max(centreX - minCellX, maxCellX - centreX),
+				Math.max(centreY - minCellY, maxCellY - centreY));
+		for (int ring = 0; ring <= maxRing; ring++) {
+			// only the part of the ring inside the occupied bounds
+			int fromX = Math.max(centreX - ring, minCellX);
+			int toX = Math.min(centreX + ring, maxCellX);
+			int fromY = Math.max(centreY - ring, minCellY);
+			int toY = Math.min(centreY + ring, maxCellY);
+			for (int cellX = fromX; cellX <= toX; cellX++) {
+				if (cellX == centreX - ring || cellX == centreX + ring) {
+					for (int cellY = fromY; cellY <= toY; cellY++) {
+						found = collectNearest(qx, qy, cellX, cellY, filter, result, bestDistances, found);
+					}
+					continue;
+				}
+				if (centreY - ring >= minCellY) {
+					found = collectNearest(qx, qy, cellX, centreY - ring, filter, result, bestDistances, found);
+				}
+				if (centreY + ring <= maxCellY) {
+					found = collectNearest(qx, qy, cellX, centreY + ring, filter, result, bestDistances, found);
+				}
+			}
+			// anything in a further ring is at least ring * cellSize away
+			double reach = ring * cellSize;
+			if (found == k && bestDistances[k - 1] <= reach * reach) {
+				break;
+			}
+		}
+		return found;
+	}
+
+	private int collectNearest(double qx, double qy, int cellX, int cellY, IntPredicate filter, int[] result,
+			double[] bestDistances, int found) {
+		long key = key(cellX, cellY);
+		for (int i = bucketHead[hash(cellX, cellY)]; i != EMPTY; i = next[i]) {
+			visited++;
+			if (cell[i] != key || (filter != null && !filter.test(i))) {
+				continue;
+			}
+			double dx = x[i] - qx;
+			double dy = y[i] - qy;
+			double distance = dx * dx + dy * dy;
+			if (found == result.length && distance >= bestDistances[found - 1]) {
+				continue;
+			}
+			// insertion into the sorted best list
+			int position = found == result.length ? found - 1 : found++;
+			while (position > 0 && bestDistances[position - 1] > distance) {
+				bestDistances[position] = bestDistances[position - 1];
+				result[position] = result[position - 1];
+				position--;
+			}
+			bestDistances[position] = distance;
+			result[position] = i;
+		}
+		return found;
+	}
+
+	private void grow(int newSize) {
+		next = Arrays.copyOf(next, newSize);
+		previous = Arrays.copyOf(previous, newSize);
+		bucket = Arrays.copyOf(bucket, newSize);
+		cell = Arrays.copyOf(cell, newSize);
+		x = Arrays.copyOf(x, newSize);
+		y = Arrays.copyOf(y, newSize);
+		Arrays.fill(bucket, size, newSize, EMPTY);
+		size = newSize;
+		if (newSize * 2 > bucketHead.length) {
+			rehash();
+		}
+	}
+
+	private void allocateBuckets(int players) {
+		int buckets = Integer.highestOneBit(Math.max(players, 16) * 2 - 1) * 2;
+		bucketHead = new int[buckets];
+		mask = buckets - 1;
+		Arrays.fill(bucketHead, EMPTY);
+	}
+
+	// relinks every indexed player into a table sized for the current count
+	private void rehash() {
+		allocateBuckets(size);
+		for (int i = 0; i < size; i++) {
+			if (bucket[i] != EMPTY) {
+				long key = cell[i];
+				link(i, (int) (key >> 32), (int) key, key);
+			}
+		}
+	}
+
+	private void link(int i, int cellX, int cellY, long key) {
+		int b = hash(cellX, cellY);
+		int head = bucketHead[b];
+		next[i] = head;
+		previous[i] = EMPTY;
+		if (head != EMPTY) {
+			previous[head] = i;
+		}
+		bucketHead[b] = i;
+		bucket[i] = b;
+		cell[i] = key;
+	}
+
+	private void unlink(int i) {
+		int b = bucket[i];
+		if (b == EMPTY) {
+			return;
+		}
+		if (previous[i] != EMPTY) {
+			next[previous[i]] = next[i];
+		} else {
+			bucketHead[b] = next[i];
+		}
+		if (next[i] != EMPTY) {
+			previous[next[i]] = previous[i];
+		}
+		bucket[i] = EMPTY;
+	}
+
+	private int cellCoordinate(double position) {
+		return (int) Math.floor(position / cellSize);
+	}
+
+	private static long key(int cellX, int cellY) {
+		return ((long) cellX << 32) | (cellY & 0xffffffffL);
+	}
+
+	private int hash(int cellX, int cellY) {
+		return (cellX * 73856093 ^ cellY * 19349663) & mask;
+	}
+}
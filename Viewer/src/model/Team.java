@@ -0,0 +1,343 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import metrics.SimulationMetrics;
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+import utilities.PlayerNameEnum;
+import utilities.PlayerProfile;
+import utilities.Position;
+import utilities.TeamSide;
+
+// Everyone on the field, backed by a shared TeamState: the named players of
+// both sides and any number of synthetic agents, each under a dense id that
+// is also its row. Players added by name alone join the Home side.
+public class Team {
+
+	private final TeamState teamState = new TeamState(PlayerNameEnum.values().length);
+	private final PlayerRegistry registry = new PlayerRegistry();
+	// kept in row order so stepping walks the team state sequentially
+	private Player[] players = new Player[PlayerNameEnum.values().length];
+	private int size;
+	// goals assigned in a batch, planned at the start of the next step
+	private GoalState[] pendingGoals = new GoalState[PlayerNameEnum.values().length];
+	private int pendingCount;
+	private SpatialGrid spatialIndex;
+	private SeparationStage separation;
+	private SimulationMetrics metrics;
+	private BatchStepper batchStepper;
+	private double replanTolerance; // m
+	private final TrajectoryBatch batch = new TrajectoryBatch();
+
+	public Player addPlayer(PlayerNameEnum playerName, Position initialPosition, PlayerProfile profile) {
+		return addPlayer(TeamSide.Home, playerName, initialPosition, profile);
+	}
+
+	public Player addPlayer(TeamSide side, PlayerNameEnum playerName, Position initialPosition,
+			PlayerProfile profile) {
+		registry.register(side, playerName);
+		return add(initialPosition, profile);
+	}
+
+	// an unnamed player, reachable only by id
+	public Player addAgent(TeamSide side, Position initialPosition, PlayerProfile profile) {
+		registry.registerAgent(side);
+		return add(initialPosition, profile);
+	}
+
+	private Player add(Position initialPosition, PlayerProfile profile) {
+		Player player = new Player(teamState, initialPosition, profile.getRunningSpeed(),
+				profile.getMaximumVelocity(), profile.getMaxAcceleration(), profile.getMaxDeceleration());
+		player.setReplanTolerance(replanTolerance);
+		if (size == players.length) {
+			players = Arrays.copyOf(players, size * 2);
+			pendingGoals = Arrays.copyOf(pendingGoals, size * 2);
+		}
+		players[size++] = player;
+		return player;
+	}
+
+	// Home side
+	public Player getPlayer(PlayerNameEnum playerName) {
+		return getPlayer(TeamSide.Home, playerName);
+	}
+
+	// null if nobody by that name is on that side
+	public Player getPlayer(TeamSide side, PlayerNameEnum playerName) {
+		int id = registry.getId(side, playerName);
+		return id == PlayerRegistry.NONE ? null : players[id];
+	}
+
+	// by id, which is also the row in the team state
+	public Player getPlayer(int index) {
+		return players[index];
+	}
+
+	public PlayerRegistry getRegistry() {
+		return registry;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	// row of the player who could be at (x, y) soonest, -1 on an empty team
+	public int firstToReach(double x, double y) {
+		int first = -1;
+		double best = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < size; i++) {
+			double time = players[i].timeToReach(x, y);
+			if (time < best) {
+				best = time;
+				first = i;
+			}
+		}
+		return first;
+	}
+
+	// in id order
+	public Collection<Player> getPlayers() {
+		return Collections.unmodifiableList(Arrays.asList(players).subList(0, size));
+	}
+
+	public TeamState getTeamState() {
+		return teamState;
+	}
+
+	// keeps a grid of player positions up to date after every step
+	public SpatialGrid enableSpatialIndex(double cellSize) {
+		spatialIndex = new SpatialGrid(cellSize, size);
+		spatialIndex.update(teamState);
+		return spatialIndex;
+	}
+
+	// null unless enableSpatialIndex() was called
+	public SpatialGrid getSpatialIndex() {
+		return spatialIndex;
+	}
+
+	// null turns crowding off again
+	public void setSeparation(SeparationStage separation) {
+		this.separation = separation;
+	}
+
+	public SeparationStage getSeparation() {
+		return separation;
+	}
+
+	// see Player.setReplanTolerance(), applies to current and future players
+	public void setReplanTolerance(double replanTolerance) {
+		this.replanTolerance = replanTolerance;
+		for (int i = 0; i < size; i++) {
+			players[i].setReplanTolerance(replanTolerance);
+		}
+	}
+
+	// steps planned trajectories for the whole team at once, null goes back to
+	// stepping player by player
+	public void setBatchStepper(BatchStepper batchStepper) {
+		this.batchStepper = batchStepper;
+	}
+
+	public BatchStepper getBatchStepper() {
+		return batchStepper;
+	}
+
+	void setMetrics(SimulationMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	PlayerNameEnum[] getPlayerNames() {
+		return registry.getNames();
+	}
+
+	// Replaces the goals of every listed player at once. Planning is deferred to
+	// the next step so a whole-team replan (e.g. on a turnover) happens in one
+	// pass, and players starting from the same state toward the same goal share
+	// a single trajectory.
+	public void assignGoals(Map<PlayerNameEnum, GoalState> goals) {
+		assignGoals(TeamSide.Home, goals);
+	}
+
+	public void assignGoals(TeamSide side, Map<PlayerNameEnum, GoalState> goals) {
+		for (Map.Entry<PlayerNameEnum, GoalState> goal : goals.entrySet()) {
+			int id = registry.getId(side, goal.getKey());
+			if (id == PlayerRegistry.NONE) {
+				throw new IllegalArgumentException(side + " " + goal.getKey() + " is not on the field");
+			}
+			assignGoal(id, goal.getValue());
+		}
+	}
+
+	// same deferred planning, by id
+	public void assignGoal(int id, GoalState goalState) {
+		if (id < 0 || id >= size) {
+			throw new IllegalArgumentException("no player with id " + id);
+		}
+		if (pendingGoals[id] == null) {
+			pendingCount++;
+		}
+		pendingGoals[id] = goalState;
+	}
+
+	public boolean hasPendingGoals() {
+		return pendingCount > 0;
+	}
+
+	// True when stepping can jump straight over the time to the next goal:
+	// nothing left to plan and every trajectory is down to constant velocity,
+	// so it is exact at any t. The separation stage integrates tick by tick,
+	// so with it on everyone must also be standing still.
+	public boolean canSkipAhead() {
+		if (pendingCount > 0) {
+			return false;
+		}
+		for (int i = 0; i < size; i++) {
+			Player player = players[i];
+			if (separation == null ? !player.isSettled() : !player.isAtRest()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// how many players are still accelerating or being pushed
+	public int countMoving() {
+		int moving = 0;
+		for (int i = 0; i < size; i++) {
+			if (!players[i].isSettled()) {
+				moving++;
+			}
+		}
+		return moving;
+	}
+
+	// one step over an interval canSkipAhead() allowed, separation is not integrated
+	void skip(double dtSeconds) {
+		for (int i = 0; i < size; i++) {
+			players[i].update(dtSeconds);
+		}
+		if (spatialIndex != null) {
+			spatialIndex.update(teamState);
+		}
+	}
+
+	public void step(double dtSeconds) {
+		if (pendingCount > 0) {
+			replanPending();
+		}
+		if (metrics != null && metrics.isPlayerTimingEnabled()) {
+			updateTimed(dtSeconds);
+		} else if (batchStepper != null) {
+			updateBatch(dtSeconds);
+		} else {
+			for (int i = 0; i < size; i++) {
+				players[i].update(dtSeconds);
+			}
+		}
+		if (separation != null) {
+			separation.apply(teamState, players, dtSeconds);
+		}
+		if (spatialIndex != null) {
+			spatialIndex.update(teamState);
+		}
+	}
+
+	private void updateBatch(double dtSeconds) {
+		batch.sync(players, size);
+		batchStepper.step(batch, teamState, dtSeconds);
+		for (int i = 0; i < size; i++) {
+			if (!batch.isPacked(i)) {
+				players[i].update(dtSeconds);
+			}
+		}
+	}
+
+	private void updateTimed(double dtSeconds) {
+		for (int i = 0; i < size; i++) {
+			long start = System.nanoTime();
+			players[i].update(dtSeconds);
+			metrics.recordPlayerUpdate(System.nanoTime() - start);
+		}
+	}
+
+	private void replanPending() {
+		// created on first use, so a tick of goals that all stay within tolerance allocates nothing
+		Map<PlanKey, Trajectory> plans = null;
+		for (int i = 0; i < size; i++) {
+			GoalState goalState = pendingGoals[i];
+			if (goalState == null) {
+				continue;
+			}
+			Player player = players[i];
+			pendingGoals[i] = null;
+			if (player.isCoveredByPlan(goalState)) {
+				player.keepPlan(goalState);
+				continue;
+			}
+			if (plans == null) {
+				plans = new HashMap<>();
+			}
+			Trajectory trajectory = plans.computeIfAbsent(new PlanKey(teamState, i, goalState, player.getProfile()),
+					key -> player.plan(goalState));
+			player.assignGoal(goalState, trajectory);
+		}
+		pendingCount = 0;
+	}
+
+	// everything a plan depends on
+	private static class PlanKey {
+		private final double x;
+		private final double y;
+		private final double vx;
+		private final double vy;
+		private final double goalX;
+		private final double goalY;
+		private final FinalSpeedEnum finalSpeedEnum;
+		private final double desiredTime;
+		private final PlayerProfile profile;
+
+		PlanKey(TeamState state, int index, GoalState goalState, PlayerProfile profile) {
+			x = state.x[index];
+			y = state.y[index];
+			vx = state.vx[index];
+			vy = state.vy[index];
+			goalX = goalState.getPosition().getX();
+			goalY = goalState.getPosition().getY();
+			finalSpeedEnum = goalState.getFinalSpeedEnum();
+			desiredTime = goalState.getDesiredTime();
+			this.profile = profile;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof PlanKey)) {
+				return false;
+			}
+			PlanKey key = (PlanKey) other;
+			return Double.compare(x, key.x) == 0 && Double.compare(y, key.y) == 0
+					&& Double.compare(vx, key.vx) == 0 && Double.compare(vy, key.vy) == 0
+					&& Double.compare(goalX, key.goalX) == 0 && Double.compare(goalY, key.goalY) == 0
+					&& finalSpeedEnum == key.finalSpeedEnum && Double.compare(desiredTime, key.desiredTime) == 0
+					&& profile.equals(key.profile);
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = Double.hashCode(x);
+			hash = 31 * hash + Double.hashCode(y);
+			hash = 31 * hash + Double.hashCode(vx);
+			hash = 31 * hash + Double.hashCode(vy);
+			hash = 31 * hash + Double.hashCode(goalX);
+			hash = 31 * hash + Double.hashCode(goalY);
+			hash = 31 * hash + finalSpeedEnum.hashCode();
+			hash = 31 * hash + Double.hashCode(desiredTime);
+			return 31 * hash + profile.hashCode();
+		}
+	}
+}
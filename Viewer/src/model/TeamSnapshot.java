@@ -0,0 +1,71 @@
+package model;
+
+import utilities.PlayerNameEnum;
+import utilities.Position;
+
+// Immutable copy of every player's kinematic state at one simulation time.
+// The simulation publishes a fresh one and readers keep whichever they last
+// picked up, so painting and stepping never wait on each other.
+public class TeamSnapshot {
+
+	private final double time; // s of simulation time
+	private final long tick;
+	private final PlayerNameEnum[] playerNames;
+	private final double[] x;
+	private final double[] y;
+	private final double[] vx;
+	private final double[] vy;
+
+	TeamSnapshot(double time, long tick, PlayerNameEnum[] playerNames, TeamState state) {
+		int size = state.size();
+		this.time = time;
+		this.tick = tick;
+		this.playerNames = playerNames;
+		this.x = copy(state.x, size);
+		this.y = copy(state.y, size);
+		this.vx = copy(state.vx, size);
+		this.vy = copy(state.vy, size);
+	}
+
+	private static double[] copy(double[] column, int size) {
+		double[] copy = new double[size];
+		System.arraycopy(column, 0, copy, 0, size);
+		return copy;
+	}
+
+	public double getTime() {
+		return time;
+	}
+
+	public long getTick() {
+		return tick;
+	}
+
+	public int size() {
+		return x.length;
+	}
+
+	public PlayerNameEnum getPlayerName(int index) {
+		return playerNames[index];
+	}
+
+	public double getX(int index) {
+		return x[index];
+	}
+
+	public double getY(int index) {
+		return y[index];
+	}
+
+	public double getVelocityX(int index) {
+		return vx[index];
+	}
+
+	public double getVelocityY(int index) {
+		return vy[index];
+	}
+
+	public Position getPosition(int index) {
+		return new Position(x[index], y[index]);
+	}
+}
@@ -0,0 +1,128 @@
+package model;
+
+import java.util.Arrays;
+
+// one row per player, one primitive column per quantity so a whole squad
+// (or many simulated squads) can be stepped without touching the heap
+public class TeamState {
+
+	double[] x; // m
+	double[] y; // m
+	double[] vx; // m/s
+	double[] vy; // m/s
+	double[] ax; // m/s/s
+	double[] ay; // m/s/s
+	double[] t; // s since the current goal was set
+	// displacement layered on top of the planned trajectory by the separation stage
+	double[] ox; // m
+	double[] oy; // m
+	double[] ovx; // m/s
+	double[] ovy; // m/s
+	private int size;
+
+	public TeamState(int capacity) {
+		capacity = Math.max(capacity, 1);
+		x = new double[capacity];
+		y = new double[capacity];
+		vx = new double[capacity];
+		vy = new double[capacity];
+		ax = new double[capacity];
+		ay = new double[capacity];
+		t = new double[capacity];
+		ox = new double[capacity];
+		oy = new double[capacity];
+		ovx = new double[capacity];
+		ovy = new double[capacity];
+	}
+
+	int add(double initialX, double initialY) {
+		if (size == x.length) {
+			grow(size * 2);
+		}
+		x[size] = initialX;
+		y[size] = initialY;
+		return size++;
+	}
+
+	private void grow(int capacity) {
+		x = Arrays.copyOf(x, capacity);
+		y = Arrays.copyOf(y, capacity);
+		vx = Arrays.copyOf(vx, capacity);
+		vy = Arrays.copyOf(vy, capacity);
+		ax = Arrays.copyOf(ax, capacity);
+		ay = Arrays.copyOf(ay, capacity);
+		t = Arrays.copyOf(t, capacity);
+		ox = Arrays.copyOf(ox, capacity);
+		oy = Arrays.copyOf(oy, capacity);
+		ovx = Arrays.copyOf(ovx, capacity);
+		ovy = Arrays.copyOf(ovy, capacity);
+	}
+
+	void set(int index, double px, double py, double pvx, double pvy, double pax, double pay) {
+		x[index] = px;
+		y[index] = py;
+		vx[index] = pvx;
+		vy[index] = pvy;
+		ax[index] = pax;
+		ay[index] = pay;
+	}
+
+	void addOffset(int index) {
+		x[index] += ox[index];
+		y[index] += oy[index];
+		vx[index] += ovx[index];
+		vy[index] += ovy[index];
+	}
+
+	// a new plan starts from the displaced state, so the offset is folded into it
+	void clearOffset(int index) {
+		ox[index] = 0;
+		oy[index] = 0;
+		ovx[index] = 0;
+		ovy[index] = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public double getX(int index) {
+		return x[index];
+	}
+
+	public double getY(int index) {
+		return y[index];
+	}
+
+	public double getVelocityX(int index) {
+		return vx[index];
+	}
+
+	public double getVelocityY(int index) {
+		return vy[index];
+	}
+
+	public double getVelocity(int index) {
+		return Math.sqrt(vx[index] * vx[index] + vy[index] * vy[index]);
+	}
+
+	public double getAccelerationX(int index) {
+		return ax[index];
+	}
+
+	public double getAccelerationY(int index) {
+		return ay[index];
+	}
+
+	public double getOffsetX(int index) {
+		return ox[index];
+	}
+
+	public double getOffsetY(int index) {
+		return oy[index];
+	}
+
+	public double getTime(int index) {
+		return t[index];
+	}
+}
@@ -0,0 +1,7 @@
+package model;
+
+// called by SimulationEngine after every tick, on the simulating thread
+public interface TickListener {
+
+	void onTick(SimulationEngine engine);
+}
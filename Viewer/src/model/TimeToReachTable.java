@@ -0,0 +1,125 @@
+package model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import utilities.PlayerProfile;
+
+// Minimum time (and the speed reached on the way) for a player to cover a
+// straight-line distance, given its current speed along that line: brake at
+// maxDeceleration if moving away, accelerate at maxAcceleration up to
+// maximumVelocity, then cruise. Tabulated once per distinct PlayerProfile
+// and shared, so "who gets there first" across many targets is a bilinear
+// lookup rather than kinematics per query.
+public class TimeToReachTable {
+
+	public final static double MAX_DISTANCE = 120.0; // m, past the field diagonal
+	// rows are spaced evenly in sqrt(distance): time grows like sqrt(distance)
+	// from a standstill, which is linear in that space and interpolates well
+	final static int DISTANCE_ROWS = 241;
+	final static double SPEED_STEP = 0.25; // m/s
+	private final static double ROOT_STEP = Math.sqrt(MAX_DISTANCE) / (DISTANCE_ROWS - 1);
+
+	private final static ConcurrentHashMap<PlayerProfile, TimeToReachTable> TABLES = new ConcurrentHashMap<>();
+
+	private final double maximumVelocity;
+	private final double maxAcceleration;
+	private final double maxDeceleration;
+	private final int distanceCount;
+	private final int speedCount;
+	private final double speedStep; // m/s, SPEED_STEP adjusted to land on maximumVelocity
+	// row per distance, column per speed from -maximumVelocity up
+	private final double[] times;
+	private final double[] peakSpeeds;
+
+	private TimeToReachTable(PlayerProfile profile) {
+		maximumVelocity = profile.getMaximumVelocity();
+		maxAcceleration = profile.getMaxAcceleration();
+		maxDeceleration = profile.getMaxDeceleration();
+		distanceCount = DISTANCE_ROWS;
+		speedCount = Math.max((int) Math.ceil(2 * maximumVelocity / SPEED_STEP), 1) + 1;
+		speedStep = 2 * maximumVelocity / (speedCount - 1);
+		times = new double[distanceCount * speedCount];
+		peakSpeeds = new double[distanceCount * speedCount];
+		for (int d = 0; d < distanceCount; d++) {
+			for (int s = 0; s < speedCount; s++) {
+				double distance = (d * ROOT_STEP) * (d * ROOT_STEP);
+				double speed = -maximumVelocity + s * speedStep;
+				times[d * speedCount + s] = exactTimeToReach(distance, speed);
+				peakSpeeds[d * speedCount + s] = exactPeakSpeed(distance, speed);
+			}
+		}
+	}
+
+	// built on first use and shared by every player with an equal profile
+	public static TimeToReachTable forProfile(PlayerProfile profile) {
+		return TABLES.computeIfAbsent(profile, TimeToReachTable::new);
+	}
+
+	// speed is the component of velocity toward the target, negative when moving away
+	public double timeToReach(double distance, double speed) {
+		if (distance >= MAX_DISTANCE) {
+			return exactTimeToReach(distance, clampSpeed(speed));
+		}
+		return lookup(times, distance, speed);
+	}
+
+	public double peakSpeed(double distance, double speed) {
+		if (distance >= MAX_DISTANCE) {
+			return exactPeakSpeed(distance, clampSpeed(speed));
+		}
+		return lookup(peakSpeeds, distance, speed);
+	}
+
+	// the kinematics the table is built from
+	public double exactTimeToReach(double distance, double speed) {
+		if (!(maxAcceleration > 0 && maximumVelocity > 0)) {
+			return distance <= 0 ? 0 : Double.POSITIVE_INFINITY;
+		}
+		double time = 0;
+		if (speed < 0) {
+			// brake to a standstill first, losing the ground covered meanwhile
+			time = -speed / maxDeceleration;
+			distance += speed * speed / (2 * maxDeceleration);
+			speed = 0;
+		}
+		if (distance <= 0) {
+			return time;
+		}
+		double rampDistance = (maximumVelocity * maximumVelocity - speed * speed) / (2 * maxAcceleration);
+		if (distance <= rampDistance) {
+			return time + (Math.sqrt(speed * speed + 2 * maxAcceleration * distance) - speed) / maxAcceleration;
+		}
+		return time + (maximumVelocity - speed) / maxAcceleration + (distance - rampDistance) / maximumVelocity;
+	}
+
+	public double exactPeakSpeed(double distance, double speed) {
+		if (!(maxAcceleration > 0 && maximumVelocity > 0)) {
+			return Math.max(speed, 0);
+		}
+		if (speed < 0) {
+			distance += speed * speed / (2 * maxDeceleration);
+			speed = 0;
+		}
+		if (distance <= 0) {
+			return speed;
+		}
+		return Math.min(Math.sqrt(speed * speed + 2 * maxAcceleration * distance), Math.max(maximumVelocity, speed));
+	}
+
+	private double clampSpeed(double speed) {
+		return Math.min(Math.max(speed, -maximumVelocity), maximumVelocity);
+	}
+
+	private double lookup(double[] table, double distance, double speed) {
+		double row = Math.sqrt(Math.max(distance, 0)) / ROOT_STEP;
+		double column = speedStep > 0 ? (clampSpeed(speed) + maximumVelocity) / speedStep : 0;
+		int d = Math.min((int) row, distanceCount - 2);
+		int s = Math.min((int) column, speedCount - 2);
+		double fd = row - d;
+		double fs = column - s;
+		int i = d * speedCount + s;
+		double near = table[i] + (table[i + 1] - table[i]) * fs;
+		double far = table[i + speedCount] + (table[i + speedCount + 1] - table[i + speedCount]) * fs;
+		return near + (far - near) * fd;
+	}
+}
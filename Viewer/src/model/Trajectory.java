@@ -0,0 +1,251 @@
+package model;
+
+import utilities.Position;
+
+// Motion planned once when a goal is set. Each axis starts from an initial
+// position and velocity and is shaped by constant-acceleration pulses
+// (accelerate, decelerate); between and after pulses the player cruises at
+// whatever velocity the pulses left it with, so any t is answered in O(1).
+public class Trajectory {
+
+	final static int START = 0;
+	final static int DURATION = 1;
+	final static int ACCELERATION = 2;
+	final static int STRIDE = 3;
+	// {start, duration, from, fromVelocity, to} of a patch
+	private final static int PATCH_START = 0;
+	private final static int PATCH_DURATION = 1;
+	private final static int PATCH_FROM = 2;
+	private final static int PATCH_FROM_VELOCITY = 3;
+	private final static int PATCH_TO = 4;
+	// a pulse planned to stop an axis leaves a rounding residue far below this
+	private final static double STOP_SPEED = 1e-9; // m/s
+
+	private final double x0;
+	private final double y0;
+	private final double vx0;
+	private final double vy0;
+	// {start, duration, acceleration} per pulse
+	private final double[] pulsesX;
+	private final double[] pulsesY;
+	// Shift added on top of the pulses once the goal moved within the replan
+	// tolerance, null if it never did. A cubic eases from the shift in force
+	// when it was patched to the new one, then holds.
+	private final double[] patchX;
+	private final double[] patchY;
+
+	Trajectory(double x0, double y0, double vx0, double vy0, double[] pulsesX, double[] pulsesY) {
+		this(x0, y0, vx0, vy0, pulsesX, pulsesY, null, null);
+	}
+
+	private Trajectory(double x0, double y0, double vx0, double vy0, double[] pulsesX, double[] pulsesY,
+			double[] patchX, double[] patchY) {
+		this.x0 = x0;
+		this.y0 = y0;
+		this.vx0 = vx0;
+		this.vy0 = vy0;
+		this.pulsesX = pulsesX;
+		this.pulsesY = pulsesY;
+		this.patchX = patchX;
+		this.patchY = patchY;
+	}
+
+	static Trajectory stationary(double x, double y) {
+		return new Trajectory(x, y, 0, 0, new double[0], new double[0]);
+	}
+
+	static double[] pulse(double start, double duration, double acceleration) {
+		return new double[] { start, duration, acceleration };
+	}
+
+	public double positionX(double t) {
+		return position(x0, vx0, pulsesX, t) + patchPosition(patchX, t);
+	}
+
+	public double positionY(double t) {
+		return position(y0, vy0, pulsesY, t) + patchPosition(patchY, t);
+	}
+
+	public double velocityX(double t) {
+		return velocity(vx0, pulsesX, t) + patchVelocity(patchX, t);
+	}
+
+	public double velocityY(double t) {
+		return velocity(vy0, pulsesY, t) + patchVelocity(patchY, t);
+	}
+
+	public double accelerationX(double t) {
+		return acceleration(pulsesX, t) + patchAcceleration(patchX, t);
+	}
+
+	public double accelerationY(double t) {
+		return acceleration(pulsesY, t) + patchAcceleration(patchY, t);
+	}
+
+	public Position positionAt(double t) {
+		return new Position(positionX(t), positionY(t));
+	}
+
+	// velocity as a vector, in m/s
+	public Position velocityAt(double t) {
+		return new Position(velocityX(t), velocityY(t));
+	}
+
+	// time after which acceleration stays zero, infinite if it never stops changing
+	public double getSettleTime() {
+		double settleTime = Math.max(settleTime(pulsesX), settleTime(pulsesY));
+		if (patchX != null) {
+			settleTime = Math.max(settleTime, patchX[PATCH_START] + patchX[PATCH_DURATION]);
+		}
+		return settleTime;
+	}
+
+	// The same motion, from t on ending up (shiftX, shiftY) away from where it
+	// was planned to. The shift eases in over what is left of the pulses, or
+	// longer if a cubic that fast would need more than maxAcceleration;
+	// earlier times are not kept, the patch only describes motion from t.
+	Trajectory retarget(double t, double shiftX, double shiftY, double maxAcceleration) {
+		double fromX = patchPosition(patchX, t);
+		double fromY = patchPosition(patchY, t);
+		double distance = Math.sqrt((shiftX - fromX) * (shiftX - fromX) + (shiftY - fromY) * (shiftY - fromY));
+		// a cubic from rest to rest over d peaks at 6d/T^2
+		double duration = maxAcceleration > 0 ? Math.sqrt(6 * distance / maxAcceleration) : 0;
+		double remaining = Math.max(settleTime(pulsesX), settleTime(pulsesY)) - t;
+		if (remaining < Double.POSITIVE_INFINITY) {
+			duration = Math.max(duration, remaining);
+		}
+		return new Trajectory(x0, y0, vx0, vy0, pulsesX, pulsesY,
+				new double[] { t, duration, fromX, patchVelocity(patchX, t), shiftX },
+				new double[] { t, duration, fromY, patchVelocity(patchY, t), shiftY });
+	}
+
+	// time the player spends moving, infinite if it never comes to rest
+	public double getStopTime() {
+		double settleTime = getSettleTime();
+		if (settleTime == Double.POSITIVE_INFINITY || Math.abs(velocityX(settleTime)) > STOP_SPEED
+				|| Math.abs(velocityY(settleTime)) > STOP_SPEED) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return settleTime;
+	}
+
+	void write(TeamState state, int index, double t) {
+		state.set(index, positionX(t), positionY(t), velocityX(t), velocityY(t), accelerationX(t),
+				accelerationY(t));
+	}
+
+	// writes this trajectory into one batch row, false if it has too many pulses to fit or is patched
+	boolean packInto(TrajectoryBatch batch, int row) {
+		if (pulsesX.length > STRIDE || pulsesY.length > STRIDE || patchX != null) {
+			return false;
+		}
+		batch.x0[row] = x0;
+		batch.y0[row] = y0;
+		batch.vx0[row] = vx0;
+		batch.vy0[row] = vy0;
+		// a missing pulse packs as a zero-length one, which adds nothing
+		batch.startX[row] = pulsesX.length == 0 ? 0 : pulsesX[START];
+		batch.durationX[row] = pulsesX.length == 0 ? 0 : pulsesX[DURATION];
+		batch.accelerationX[row] = pulsesX.length == 0 ? 0 : pulsesX[ACCELERATION];
+		batch.startY[row] = pulsesY.length == 0 ? 0 : pulsesY[START];
+		batch.durationY[row] = pulsesY.length == 0 ? 0 : pulsesY[DURATION];
+		batch.accelerationY[row] = pulsesY.length == 0 ? 0 : pulsesY[ACCELERATION];
+		return true;
+	}
+
+	// elapsed time within a pulse, clamped to the pulse
+	private static double elapsed(double[] pulses, int p, double t) {
+		double tau = t - pulses[p + START];
+		if (tau <= 0) {
+			return 0;
+		}
+		return Math.min(tau, pulses[p + DURATION]);
+	}
+
+	private static double position(double p0, double v0, double[] pulses, double t) {
+		double p = p0 + v0 * t;
+		for (int i = 0; i < pulses.length; i += STRIDE) {
+			double tau = elapsed(pulses, i, t);
+			// 0.5*a*tau^2 while inside the pulse, then cruising on the velocity it added
+			p += pulses[i + ACCELERATION] * tau * ((t - pulses[i + START]) - 0.5 * tau);
+		}
+		return p;
+	}
+
+	private static double velocity(double v0, double[] pulses, double t) {
+		double v = v0;
+		for (int i = 0; i < pulses.length; i += STRIDE) {
+			v += pulses[i + ACCELERATION] * elapsed(pulses, i, t);
+		}
+		return v;
+	}
+
+	private static double acceleration(double[] pulses, double t) {
+		double a = 0;
+		for (int i = 0; i < pulses.length; i += STRIDE) {
+			double tau = t - pulses[i + START];
+			if (tau >= 0 && tau < pulses[i + DURATION]) {
+				a += pulses[i + ACCELERATION];
+			}
+		}
+		return a;
+	}
+
+	private static double settleTime(double[] pulses) {
+		double end = 0;
+		for (int i = 0; i < pulses.length; i += STRIDE) {
+			if (pulses[i + ACCELERATION] != 0) {
+				end = Math.max(end, pulses[i + START] + pulses[i + DURATION]);
+			}
+		}
+		return end;
+	}
+
+	// how far through the patch, 0..1
+	private static double patchFraction(double[] patch, double t) {
+		double duration = patch[PATCH_DURATION];
+		if (!(duration > 0)) {
+			return 1;
+		}
+		return Math.min(Math.max((t - patch[PATCH_START]) / duration, 0), 1);
+	}
+
+	// cubic Hermite from (from, fromVelocity) to (to, 0)
+	private static double patchPosition(double[] patch, double t) {
+		if (patch == null) {
+			return 0;
+		}
+		double s = patchFraction(patch, t);
+		double s2 = s * s;
+		double s3 = s2 * s;
+		return (2 * s3 - 3 * s2 + 1) * patch[PATCH_FROM]
+				+ (s3 - 2 * s2 + s) * patch[PATCH_DURATION] * patch[PATCH_FROM_VELOCITY]
+				+ (-2 * s3 + 3 * s2) * patch[PATCH_TO];
+	}
+
+	private static double patchVelocity(double[] patch, double t) {
+		if (patch == null) {
+			return 0;
+		}
+		double s = patchFraction(patch, t);
+		if (s <= 0 || s >= 1) {
+			return 0;
+		}
+		double s2 = s * s;
+		return ((6 * s2 - 6 * s) * (patch[PATCH_FROM] - patch[PATCH_TO])) / patch[PATCH_DURATION]
+				+ (3 * s2 - 4 * s + 1) * patch[PATCH_FROM_VELOCITY];
+	}
+
+	private static double patchAcceleration(double[] patch, double t) {
+		if (patch == null) {
+			return 0;
+		}
+		double s = patchFraction(patch, t);
+		if (s <= 0 || s >= 1) {
+			return 0;
+		}
+		double duration = patch[PATCH_DURATION];
+		return (12 * s - 6) * (patch[PATCH_FROM] - patch[PATCH_TO]) / (duration * duration)
+				+ (6 * s - 4) * patch[PATCH_FROM_VELOCITY] / duration;
+	}
+}
@@ -0,0 +1,64 @@
+package model;
+
+import java.util.Arrays;
+
+// A team's trajectories repacked column-wise, one row per player, so a
+// BatchStepper can evaluate them all with the same straight-line formula.
+// Only trajectories with at most one pulse per axis fit (which is every plan
+// Player makes today); anything else is left unpacked and stepped by its
+// Player as before.
+public class TrajectoryBatch {
+
+	double[] x0 = new double[0];
+	double[] y0 = new double[0];
+	double[] vx0 = new double[0];
+	double[] vy0 = new double[0];
+	double[] startX = new double[0];
+	double[] durationX = new double[0];
+	double[] accelerationX = new double[0];
+	double[] startY = new double[0];
+	double[] durationY = new double[0];
+	double[] accelerationY = new double[0];
+	boolean[] packed = new boolean[0];
+	// the trajectory each row was packed from, so unchanged rows are skipped
+	private Trajectory[] source = new Trajectory[0];
+	private int size;
+
+	// repacks the rows whose trajectory changed since the last call
+	void sync(Player[] players, int count) {
+		if (count > x0.length) {
+			grow(Math.max(count, 2 * x0.length));
+		}
+		size = count;
+		for (int i = 0; i < size; i++) {
+			Trajectory trajectory = players[i].getTrajectory();
+			if (trajectory != source[i]) {
+				source[i] = trajectory;
+				packed[i] = trajectory != null && trajectory.packInto(this, i);
+			}
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isPacked(int index) {
+		return packed[index];
+	}
+
+	private void grow(int capacity) {
+		x0 = Arrays.copyOf(x0, capacity);
+		y0 = Arrays.copyOf(y0, capacity);
+		vx0 = Arrays.copyOf(vx0, capacity);
+		vy0 = Arrays.copyOf(vy0, capacity);
+		startX = Arrays.copyOf(startX, capacity);
+		durationX = Arrays.copyOf(durationX, capacity);
+		accelerationX = Arrays.copyOf(accelerationX, capacity);
+		startY = Arrays.copyOf(startY, capacity);
+		durationY = Arrays.copyOf(durationY, capacity);
+		accelerationY = Arrays.copyOf(accelerationY, capacity);
+		packed = Arrays.copyOf(packed, capacity);
+		source = Arrays.copyOf(source, capacity);
+	}
+}
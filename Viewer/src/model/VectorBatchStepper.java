@@ -0,0 +1,65 @@
+package model;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Evaluates as many rows per instruction as the CPU's preferred vector
+// width holds. Needs --add-modules jdk.incubator.vector at run time; use
+// BatchStepper.fastest() to fall back to the scalar backend without it.
+public class VectorBatchStepper implements BatchStepper {
+
+	// static final so the JIT can compile the vector operations to instructions
+	private final static VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+	// fails with a LinkageError when the incubator module is not present
+	static VectorBatchStepper create() {
+		return new VectorBatchStepper();
+	}
+
+	public int getLanes() {
+		return SPECIES.length();
+	}
+
+	@Override
+	public void step(TrajectoryBatch batch, TeamState state, double dtSeconds) {
+		int size = batch.size();
+		int bound = SPECIES.loopBound(size);
+		int i = 0;
+		for (; i < bound; i += SPECIES.length()) {
+			VectorMask<Double> packed = VectorMask.fromArray(SPECIES, batch.packed, i);
+			if (!packed.anyTrue()) {
+				continue;
+			}
+			DoubleVector t = DoubleVector.fromArray(SPECIES, state.t, i).add(dtSeconds);
+			t.intoArray(state.t, i, packed);
+			stepAxis(t, batch.x0, batch.vx0, batch.startX, batch.durationX, batch.accelerationX, state.ox,
+					state.ovx, state.x, state.vx, state.ax, i, packed);
+			stepAxis(t, batch.y0, batch.vy0, batch.startY, batch.durationY, batch.accelerationY, state.oy,
+					state.ovy, state.y, state.vy, state.ay, i, packed);
+		}
+		ScalarBatchStepper.stepRows(batch, state, dtSeconds, i, size);
+	}
+
+	// same operations in the same order as ScalarBatchStepper, lane by lane
+	private static void stepAxis(DoubleVector t, double[] p0Column, double[] v0Column, double[] startColumn,
+			double[] durationColumn, double[] accelerationColumn, double[] offsetColumn,
+			double[] offsetVelocityColumn, double[] position, double[] velocity, double[] acceleration, int i,
+			VectorMask<Double> packed) {
+		DoubleVector duration = DoubleVector.fromArray(SPECIES, durationColumn, i);
+		DoubleVector a = DoubleVector.fromArray(SPECIES, accelerationColumn, i);
+		DoubleVector v0 = DoubleVector.fromArray(SPECIES, v0Column, i);
+		DoubleVector since = t.sub(DoubleVector.fromArray(SPECIES, startColumn, i));
+		DoubleVector tau = since.max(0).min(duration);
+		DoubleVector aTau = a.mul(tau);
+		DoubleVector p = DoubleVector.fromArray(SPECIES, p0Column, i).add(v0.mul(t))
+				.add(aTau.mul(since.sub(tau.mul(0.5))))
+				.add(DoubleVector.fromArray(SPECIES, offsetColumn, i));
+		p.intoArray(position, i, packed);
+		v0.add(aTau).add(DoubleVector.fromArray(SPECIES, offsetVelocityColumn, i)).intoArray(velocity, i, packed);
+		VectorMask<Double> inside = since.compare(VectorOperators.GE, 0)
+				.and(since.compare(VectorOperators.LT, duration));
+		DoubleVector.zero(SPECIES).blend(a, inside).intoArray(acceleration, i, packed);
+	}
+}
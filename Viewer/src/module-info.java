@@ -1,5 +1,13 @@
 module mainwindow {
 	requires java.desktop;
+	requires java.logging;
+	requires java.management;
+	requires jdk.management;
+	// optional, only VectorBatchStepper needs it
+	requires static jdk.incubator.vector;
 	requires org.junit.jupiter.api;
 	requires junit;
-}
\ No newline at end of file
+
+	// standard MBeans are introspected reflectively by the platform server
+	exports metrics to java.management;
+}
@@ -0,0 +1,125 @@
+package recording;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+// Reads a DeltaEncoder stream one tick at a time.
+public class DeltaDecoder {
+
+	private final InputStream in;
+	private final int playerCount;
+	private final double positionResolution;
+	private final double velocityResolution;
+	private final long[] current;
+	private final long[] movement;
+	private final int[] masks;
+	private long tick = -1;
+
+	public DeltaDecoder(InputStream in) throws IOException {
+		this.in = new BufferedInputStream(in);
+		DataInputStream header = new DataInputStream(this.in);
+		if (header.readInt() != DeltaEncoder.MAGIC) {
+			throw new IOException("not a delta stream");
+		}
+		playerCount = header.readInt();
+		header.readInt(); // keyframe interval, implied by the frame types
+		positionResolution = header.readDouble();
+		velocityResolution = header.readDouble();
+		current = new long[playerCount * DeltaEncoder.FIELDS];
+		movement = new long[playerCount * 2];
+		masks = new int[(playerCount + 1) / 2];
+	}
+
+	// false once the stream ends cleanly between ticks
+	public boolean readTick() throws IOException {
+		int type = in.read();
+		if (type < 0) {
+			return false;
+		}
+		if (type == DeltaEncoder.KEYFRAME) {
+			tick = readVarLong();
+			for (int f = 0; f < current.length; f++) {
+				current[f] = unZigZag(readVarLong());
+			}
+			Arrays.fill(movement, 0);
+			return true;
+		}
+		if (type != DeltaEncoder.DELTA) {
+			throw new IOException("unknown frame type " + type);
+		}
+		if (tick < 0) {
+			throw new IOException("delta frame before the first keyframe");
+		}
+		for (int b = 0; b < masks.length; b++) {
+			masks[b] = readByte();
+		}
+		for (int i = 0; i < playerCount; i++) {
+			int mask = (masks[i / 2] >> ((i % 2) * DeltaEncoder.FIELDS)) & 0xF;
+			for (int f = 0; f < DeltaEncoder.FIELDS; f++) {
+				long residual = (mask & (1 << f)) != 0 ? unZigZag(readVarLong()) : 0;
+				int field = i * DeltaEncoder.FIELDS + f;
+				if (f < 2) {
+					long delta = movement[i * 2 + f] + residual;
+					current[field] += delta;
+					movement[i * 2 + f] = delta;
+				} else {
+					current[field] += residual;
+				}
+			}
+		}
+		tick++;
+		return true;
+	}
+
+	public long getTick() {
+		return tick;
+	}
+
+	public int getPlayerCount() {
+		return playerCount;
+	}
+
+	public double getX(int player) {
+		return current[player * DeltaEncoder.FIELDS] * positionResolution;
+	}
+
+	public double getY(int player) {
+		return current[player * DeltaEncoder.FIELDS + 1] * positionResolution;
+	}
+
+	public double getVelocityX(int player) {
+		return current[player * DeltaEncoder.FIELDS + 2] * velocityResolution;
+	}
+
+	public double getVelocityY(int player) {
+		return current[player * DeltaEncoder.FIELDS + 3] * velocityResolution;
+	}
+
+	private int readByte() throws IOException {
+		int value = in.read();
+		if (value < 0) {
+			throw new EOFException("stream ended inside a frame");
+		}
+		return value;
+	}
+
+	private long readVarLong() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("malformed varint");
+	}
+
+	private static long unZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+}
@@ -0,0 +1,183 @@
+package recording;
+
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import model.SimulationEngine;
+import model.TeamSnapshot;
+import model.TeamState;
+import model.TickListener;
+
+// Streams team state as quantized deltas with periodic keyframes. Positions
+// are sent as the change in their per-tick movement, velocities as their
+// change, so a player cruising at maximumVelocity or standing still costs
+// half a byte of flags per tick. DeltaDecoder reverses it.
+public class DeltaEncoder implements TickListener, Flushable {
+
+	final static int MAGIC = 0x55544431; // "UTD1"
+	final static int KEYFRAME = 1;
+	final static int DELTA = 2;
+	final static int FIELDS = 4; // x, y, vx, vy
+
+	private final OutputStream out;
+	private final int playerCount;
+	private final int keyframeInterval;
+	private final double positionResolution; // m
+	private final double velocityResolution; // m/s
+	private final long[] previous;
+	private final long[] previousMovement;
+	private final long[] current;
+	private byte[] frame = new byte[64];
+	private int frameLength;
+	private long tick;
+
+	public DeltaEncoder(OutputStream out, int playerCount, int keyframeInterval, double positionResolution,
+			double velocityResolution) throws IOException {
+		if (keyframeInterval <= 0) {
+			throw new IllegalArgumentException("keyframe interval must be positive: " + keyframeInterval);
+		}
+		this.out = out;
+		this.playerCount = playerCount;
+		this.keyframeInterval = keyframeInterval;
+		this.positionResolution = positionResolution;
+		this.velocityResolution = velocityResolution;
+		previous = new long[playerCount * FIELDS];
+		previousMovement = new long[playerCount * 2];
+		current = new long[playerCount * FIELDS];
+		DataOutputStream header = new DataOutputStream(out);
+		header.writeInt(MAGIC);
+		header.writeInt(playerCount);
+		header.writeInt(keyframeInterval);
+		header.writeDouble(positionResolution);
+		header.writeDouble(velocityResolution);
+		header.flush();
+	}
+
+	@Override
+	public void onTick(SimulationEngine engine) {
+		try {
+			writeTick(engine.getTeamState());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public void writeTick(TeamState state) throws IOException {
+		checkSize(state.size());
+		for (int i = 0; i < playerCount; i++) {
+			quantize(i, state.getX(i), state.getY(i), state.getVelocityX(i), state.getVelocityY(i));
+		}
+		writeFrame();
+	}
+
+	public void writeTick(TeamSnapshot snapshot) throws IOException {
+		checkSize(snapshot.size());
+		for (int i = 0; i < playerCount; i++) {
+			quantize(i, snapshot.getX(i), snapshot.getY(i), snapshot.getVelocityX(i), snapshot.getVelocityY(i));
+		}
+		writeFrame();
+	}
+
+	private void checkSize(int size) {
+		if (size != playerCount) {
+			throw new IllegalStateException("encoding " + playerCount + " players but got " + size);
+		}
+	}
+
+	private void quantize(int i, double x, double y, double vx, double vy) {
+		current[i * FIELDS] = Math.round(x / positionResolution);
+		current[i * FIELDS + 1] = Math.round(y / positionResolution);
+		current[i * FIELDS + 2] = Math.round(vx / velocityResolution);
+		current[i * FIELDS + 3] = Math.round(vy / velocityResolution);
+	}
+
+	private void writeFrame() throws IOException {
+		frameLength = 0;
+		if (tick % keyframeInterval == 0) {
+			putByte(KEYFRAME);
+			putVarLong(tick);
+			for (int f = 0; f < current.length; f++) {
+				putVarLong(zigZag(current[f]));
+			}
+		} else {
+			putByte(DELTA);
+			int maskStart = frameLength;
+			int maskBytes = (playerCount + 1) / 2;
+			for (int b = 0; b < maskBytes; b++) {
+				putByte(0);
+			}
+			for (int i = 0; i < playerCount; i++) {
+				int mask = 0;
+				for (int f = 0; f < FIELDS; f++) {
+					long residual = residual(i, f);
+					if (residual != 0) {
+						mask |= 1 << f;
+						putVarLong(zigZag(residual));
+					}
+				}
+				frame[maskStart + i / 2] |= (byte) (mask << ((i % 2) * FIELDS));
+			}
+		}
+		if (tick % keyframeInterval == 0) {
+			// the decoder has no earlier movement to predict from after a keyframe
+			Arrays.fill(previousMovement, 0);
+		} else {
+			for (int i = 0; i < playerCount; i++) {
+				previousMovement[i * 2] = current[i * FIELDS] - previous[i * FIELDS];
+				previousMovement[i * 2 + 1] = current[i * FIELDS + 1] - previous[i * FIELDS + 1];
+			}
+		}
+		System.arraycopy(current, 0, previous, 0, current.length);
+		out.write(frame, 0, frameLength);
+		tick++;
+	}
+
+	// positions predict last tick's movement again, velocities predict no change
+	private long residual(int i, int f) {
+		long delta = current[i * FIELDS + f] - previous[i * FIELDS + f];
+		if (f < 2) {
+			return delta - previousMovement[i * 2 + f];
+		}
+		return delta;
+	}
+
+	static long zigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private void putVarLong(long value) {
+		while ((value & ~0x7FL) != 0) {
+			putByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		putByte((int) value);
+	}
+
+	private void putByte(int value) {
+		if (frameLength == frame.length) {
+			frame = Arrays.copyOf(frame, frame.length * 2);
+		}
+		frame[frameLength++] = (byte) value;
+	}
+
+	public long getTickCount() {
+		return tick;
+	}
+
+	public double getPositionResolution() {
+		return positionResolution;
+	}
+
+	public double getVelocityResolution() {
+		return velocityResolution;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+}
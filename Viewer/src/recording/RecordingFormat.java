@@ -0,0 +1,40 @@
+package recording;
+
+// Layout shared by TrajectoryRecorder and TrajectoryReplay. A fixed header
+// is followed by one frame per tick: the simulation time at the end of the
+// tick, then one fixed-width record per player, so the record for
+// (tick, player) sits at a computable offset. Ticks may differ in length
+// (variable steps, skips), which is why each frame carries its own time and
+// the header's tick seconds is only the engine's nominal tick.
+final class RecordingFormat {
+
+	final static int MAGIC = 0x55545231; // "UTR1"
+	final static int VERSION = 2;
+	// magic, version, player count, record size, tick seconds
+	final static int HEADER_SIZE = 4 + 4 + 4 + 4 + 8;
+
+	// frame prefix: simulation time in seconds
+	final static int FRAME_TIME = 0;
+	final static int FRAME_HEADER_SIZE = 8;
+
+	// record fields, relative to the record
+	final static int X = 0;
+	final static int Y = 8;
+	final static int VELOCITY_X = 16;
+	final static int VELOCITY_Y = 24;
+	final static int ACCELERATION_X = 32;
+	final static int ACCELERATION_Y = 40;
+	final static int GOAL_X = 48;
+	final static int GOAL_Y = 56;
+	final static int GOAL_DESIRED_TIME = 64;
+	final static int GOAL_SPEED = 72;
+	final static int RECORD_SIZE = 76;
+
+	// GOAL_SPEED values
+	final static int NO_GOAL = 0;
+	final static int GOAL_STATIONARY = 1;
+	final static int GOAL_RUNNING = 2;
+
+	private RecordingFormat() {
+	}
+}
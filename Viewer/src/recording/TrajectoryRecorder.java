@@ -0,0 +1,128 @@
+package recording;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import model.Player;
+import model.SimulationEngine;
+import model.Team;
+import model.TeamState;
+import model.TickListener;
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+
+// Appends every tick of a team, stamped with its simulation time, to a
+// binary file laid out by RecordingFormat.
+public class TrajectoryRecorder implements TickListener, Closeable {
+
+	private final static int BUFFER_SIZE = 1 << 16;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private final int playerCount;
+	private long tickCount;
+
+	public TrajectoryRecorder(Path path, int playerCount, double tickSeconds) throws IOException {
+		this.playerCount = playerCount;
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		int frameSize = frameSize();
+		buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_SIZE / frameSize, 1) * frameSize)
+				.order(ByteOrder.LITTLE_ENDIAN);
+		ByteBuffer header = ByteBuffer.allocate(RecordingFormat.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(RecordingFormat.MAGIC);
+		header.putInt(RecordingFormat.VERSION);
+		header.putInt(playerCount);
+		header.putInt(RecordingFormat.RECORD_SIZE);
+		header.putDouble(tickSeconds);
+		header.flip();
+		write(header);
+	}
+
+	public static TrajectoryRecorder attach(SimulationEngine engine, Path path) throws IOException {
+		TrajectoryRecorder recorder = new TrajectoryRecorder(path, engine.getTeam().size(), engine.getTickSeconds());
+		engine.addTickListener(recorder);
+		return recorder;
+	}
+
+	@Override
+	public void onTick(SimulationEngine engine) {
+		try {
+			record(engine.getTeam(), engine.getSimulationTime());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public void record(Team team, double simulationTime) throws IOException {
+		if (team.size() != playerCount) {
+			throw new IllegalStateException("recording " + playerCount + " players but team has " + team.size());
+		}
+		if (buffer.remaining() < frameSize()) {
+			flush();
+		}
+		buffer.putDouble(simulationTime);
+		TeamState state = team.getTeamState();
+		for (int i = 0; i < playerCount; i++) {
+			buffer.putDouble(state.getX(i));
+			buffer.putDouble(state.getY(i));
+			buffer.putDouble(state.getVelocityX(i));
+			buffer.putDouble(state.getVelocityY(i));
+			buffer.putDouble(state.getAccelerationX(i));
+			buffer.putDouble(state.getAccelerationY(i));
+			putGoal(team.getPlayer(i));
+		}
+		tickCount++;
+	}
+
+	private void putGoal(Player player) {
+		GoalState goalState = player.getGoalState();
+		if (goalState == null) {
+			buffer.putDouble(0);
+			buffer.putDouble(0);
+			buffer.putDouble(-1);
+			buffer.putInt(RecordingFormat.NO_GOAL);
+			return;
+		}
+		buffer.putDouble(goalState.getPosition().getX());
+		buffer.putDouble(goalState.getPosition().getY());
+		buffer.putDouble(goalState.getDesiredTime());
+		buffer.putInt(goalState.getFinalSpeedEnum() == FinalSpeedEnum.Stationary ? RecordingFormat.GOAL_STATIONARY
+				: RecordingFormat.GOAL_RUNNING);
+	}
+
+	public long getTickCount() {
+		return tickCount;
+	}
+
+	private int frameSize() {
+		return RecordingFormat.FRAME_HEADER_SIZE + playerCount * RecordingFormat.RECORD_SIZE;
+	}
+
+	public void flush() throws IOException {
+		buffer.flip();
+		write(buffer);
+		buffer.clear();
+	}
+
+	private void write(ByteBuffer source) throws IOException {
+		while (source.hasRemaining()) {
+			channel.write(source);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+}
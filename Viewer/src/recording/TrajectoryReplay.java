@@ -0,0 +1,172 @@
+package recording;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+import utilities.Position;
+
+// Random access to a recording by tick and player, or by simulation time
+// through getTickAt(). The file is memory-mapped
+// in segments of whole ticks, so long recordings need no more than one
+// mapping per segment and reads never copy.
+public class TrajectoryReplay implements Closeable {
+
+	private final static long MAX_SEGMENT_SIZE = 1L << 30;
+
+	private final FileChannel channel;
+	private final int playerCount;
+	private final double tickSeconds;
+	private final long tickCount;
+	private final long ticksPerSegment;
+	private final MappedByteBuffer[] segments;
+
+	public TrajectoryReplay(Path path) throws IOException {
+		channel = FileChannel.open(path, StandardOpenOption.READ);
+		ByteBuffer header = ByteBuffer.allocate(RecordingFormat.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		while (header.hasRemaining()) {
+			if (channel.read(header, header.position()) < 0) {
+				channel.close();
+				throw new IOException(path + " is too short to be a recording");
+			}
+		}
+		header.flip();
+		if (header.getInt() != RecordingFormat.MAGIC || header.getInt() != RecordingFormat.VERSION) {
+			channel.close();
+			throw new IOException(path + " is not a version " + RecordingFormat.VERSION + " recording");
+		}
+		playerCount = header.getInt();
+		int recordSize = header.getInt();
+		tickSeconds = header.getDouble();
+		if (recordSize != RecordingFormat.RECORD_SIZE || playerCount <= 0) {
+			channel.close();
+			throw new IOException(path + " has an unexpected record layout");
+		}
+		long frameSize = frameSize();
+		tickCount = (channel.size() - RecordingFormat.HEADER_SIZE) / frameSize;
+		ticksPerSegment = Math.max(MAX_SEGMENT_SIZE / frameSize, 1);
+		segments = new MappedByteBuffer[(int) ((tickCount + ticksPerSegment - 1) / ticksPerSegment)];
+		for (int s = 0; s < segments.length; s++) {
+			long firstTick = s * ticksPerSegment;
+			long ticks = Math.min(ticksPerSegment, tickCount - firstTick);
+			segments[s] = channel.map(FileChannel.MapMode.READ_ONLY,
+					RecordingFormat.HEADER_SIZE + firstTick * frameSize, ticks * frameSize);
+			segments[s].order(ByteOrder.LITTLE_ENDIAN);
+		}
+	}
+
+	public int getPlayerCount() {
+		return playerCount;
+	}
+
+	public long getTickCount() {
+		return tickCount;
+	}
+
+	// the engine's nominal tick; the real length of each tick comes from getTime()
+	public double getTickSeconds() {
+		return tickSeconds;
+	}
+
+	// simulation time at the end of the tick
+	public double getTime(long tick) {
+		return segment(tick).getDouble(frameOffset(tick) + RecordingFormat.FRAME_TIME);
+	}
+
+	// the last tick recorded at or before the given simulation time, -1 if
+	// the recording starts after it. Times only grow, so this is a binary search.
+	public long getTickAt(double simulationTime) {
+		long low = 0;
+		long high = tickCount - 1;
+		long found = -1;
+		while (low <= high) {
+			long middle = (low + high) >>> 1;
+			if (getTime(middle) <= simulationTime) {
+				found = middle;
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return found;
+	}
+
+	public double getX(long tick, int player) {
+		return read(tick, player, RecordingFormat.X);
+	}
+
+	public double getY(long tick, int player) {
+		return read(tick, player, RecordingFormat.Y);
+	}
+
+	public double getVelocityX(long tick, int player) {
+		return read(tick, player, RecordingFormat.VELOCITY_X);
+	}
+
+	public double getVelocityY(long tick, int player) {
+		return read(tick, player, RecordingFormat.VELOCITY_Y);
+	}
+
+	public double getAccelerationX(long tick, int player) {
+		return read(tick, player, RecordingFormat.ACCELERATION_X);
+	}
+
+	public double getAccelerationY(long tick, int player) {
+		return read(tick, player, RecordingFormat.ACCELERATION_Y);
+	}
+
+	public Position getPosition(long tick, int player) {
+		return new Position(getX(tick, player), getY(tick, player));
+	}
+
+	// null if the player had no goal at that tick
+	public GoalState getGoalState(long tick, int player) {
+		int speed = segment(tick).getInt(offset(tick, player) + RecordingFormat.GOAL_SPEED);
+		if (speed == RecordingFormat.NO_GOAL) {
+			return null;
+		}
+		Position goal = new Position(read(tick, player, RecordingFormat.GOAL_X),
+				read(tick, player, RecordingFormat.GOAL_Y));
+		FinalSpeedEnum finalSpeedEnum = speed == RecordingFormat.GOAL_STATIONARY ? FinalSpeedEnum.Stationary
+				: FinalSpeedEnum.Running;
+		return new GoalState(goal, finalSpeedEnum, read(tick, player, RecordingFormat.GOAL_DESIRED_TIME));
+	}
+
+	private double read(long tick, int player, int field) {
+		return segment(tick).getDouble(offset(tick, player) + field);
+	}
+
+	private MappedByteBuffer segment(long tick) {
+		if (tick < 0 || tick >= tickCount) {
+			throw new IndexOutOfBoundsException("tick " + tick + " of " + tickCount);
+		}
+		return segments[(int) (tick / ticksPerSegment)];
+	}
+
+	private int offset(long tick, int player) {
+		if (player < 0 || player >= playerCount) {
+			throw new IndexOutOfBoundsException("player " + player + " of " + playerCount);
+		}
+		return frameOffset(tick) + RecordingFormat.FRAME_HEADER_SIZE + player * RecordingFormat.RECORD_SIZE;
+	}
+
+	private int frameOffset(long tick) {
+		return (int) ((tick % ticksPerSegment) * frameSize());
+	}
+
+	private long frameSize() {
+		return RecordingFormat.FRAME_HEADER_SIZE + (long) playerCount * RecordingFormat.RECORD_SIZE;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
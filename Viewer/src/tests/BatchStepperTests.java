@@ -0,0 +1,101 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.Test;
+
+import model.BatchStepper;
+import model.Player;
+import model.ScalarBatchStepper;
+import model.SeparationStage;
+import model.SimulationEngine;
+import model.TeamState;
+import model.VectorBatchStepper;
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+import utilities.PlayerProfile;
+import utilities.Position;
+import utilities.TeamSide;
+
+public class BatchStepperTests {
+	double maxSpeed = 10;
+	double runningSpeed = 8;
+	double maxAcceleration = 10;
+	double maxDeceleration = 15;
+
+	// Every transition PlayerTests covers, plus players that never get a goal.
+	// Sized from the vector width so full blocks, a block with nothing
+	// packed, partly packed blocks and the scalar tail all occur.
+	private SimulationEngine createEngine(BatchStepper batchStepper, int lanes) {
+		SimulationEngine engine = new SimulationEngine();
+		PlayerProfile profile = new PlayerProfile(runningSpeed, maxSpeed, maxAcceleration, maxDeceleration);
+		int rows = 4 * lanes + lanes / 2 + 1;
+		for (int i = 0; i < rows; i++) {
+			Player player = engine.addAgent(TeamSide.Home, new Position(3.2 * i, -2.5 + i), profile);
+			boolean idleBlock = i >= lanes && i < 2 * lanes;
+			if (i % 8 != 3 && !idleBlock) {
+				player.setGoalState(new GoalState(new Position(50 - 7 * i, 20 + 3 * i), FinalSpeedEnum.Running));
+			}
+		}
+		engine.getTeam().setSeparation(new SeparationStage(2.0, 40.0, 0.0, 6.0));
+		engine.getTeam().setBatchStepper(batchStepper);
+		return engine;
+	}
+
+	private void stopRunners(SimulationEngine engine) {
+		for (Player player : engine.getPlayers()) {
+			if (player.getGoalState() != null && player.getIndex() % 2 == 0) {
+				Position position = player.getCurrentPosition();
+				player.setGoalState(new GoalState(new Position(position.getX() + player.getVelocityX() * 0.1,
+						position.getY() + player.getVelocityY() * 0.1), FinalSpeedEnum.Stationary));
+			}
+		}
+	}
+
+	private void checkMatches(BatchStepper batchStepper, int lanes) {
+		SimulationEngine reference = createEngine(null, lanes);
+		SimulationEngine batched = createEngine(batchStepper, lanes);
+		for (int tick = 0; tick < 100; tick++) {
+			if (tick == 10) {
+				stopRunners(reference);
+				stopRunners(batched);
+			}
+			reference.step();
+			batched.step();
+			TeamState expected = reference.getTeamState();
+			TeamState actual = batched.getTeamState();
+			for (int i = 0; i < expected.size(); i++) {
+				assertEquals(expected.getX(i), actual.getX(i), 1e-12);
+				assertEquals(expected.getY(i), actual.getY(i), 1e-12);
+				assertEquals(expected.getVelocityX(i), actual.getVelocityX(i), 1e-12);
+				assertEquals(expected.getVelocityY(i), actual.getVelocityY(i), 1e-12);
+				assertEquals(expected.getAccelerationX(i), actual.getAccelerationX(i), 1e-12);
+				assertEquals(expected.getAccelerationY(i), actual.getAccelerationY(i), 1e-12);
+				assertEquals(expected.getTime(i), actual.getTime(i), 0.0);
+			}
+		}
+	}
+
+	@Test
+	public void testScalarBatchMatchesPlayerUpdate() {
+		checkMatches(new ScalarBatchStepper(), 8);
+	}
+
+	@Test
+	public void testFastestBatchMatchesPlayerUpdate() {
+		BatchStepper fastest = BatchStepper.fastest();
+		checkMatches(fastest, fastest instanceof VectorBatchStepper ? ((VectorBatchStepper) fastest).getLanes() : 8);
+	}
+
+	@Test
+	public void testVectorBatchMatchesPlayerUpdate() {
+		BatchStepper fastest = BatchStepper.fastest();
+		// only when run with --add-modules jdk.incubator.vector
+		assumeTrue(fastest instanceof VectorBatchStepper);
+		int lanes = ((VectorBatchStepper) fastest).getLanes();
+		assertTrue(lanes >= 1);
+		checkMatches(fastest, lanes);
+	}
+}
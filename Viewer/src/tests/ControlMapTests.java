@@ -0,0 +1,89 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import model.ControlMap;
+import model.Player;
+import model.SimulationEngine;
+import model.Team;
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+import utilities.PlayerNameEnum;
+import utilities.PlayerProfile;
+import utilities.Position;
+import utilities.TeamSide;
+
+public class ControlMapTests {
+	PlayerProfile profile = new PlayerProfile(8, 10, 10, 15);
+	PlayerProfile slower = new PlayerProfile(7, 8, 8, 12);
+
+	private SimulationEngine createEngine() {
+		SimulationEngine engine = new SimulationEngine();
+		for (PlayerNameEnum playerName : PlayerNameEnum.values()) {
+			int i = playerName.ordinal();
+			engine.addPlayer(TeamSide.Home, playerName, new Position(15 + 10 * i, 10), profile);
+			engine.addPlayer(TeamSide.Away, playerName, new Position(20 + 10 * i, 27), slower);
+		}
+		return engine;
+	}
+
+	// every cell against every player, straight from Player.timeToReach()
+	private void checkAgainstBruteForce(ControlMap map, Team team) {
+		for (int row = 0; row < map.getRows(); row++) {
+			for (int column = 0; column < map.getColumns(); column++) {
+				double best = Double.POSITIVE_INFINITY;
+				for (int i = 0; i < team.size(); i++) {
+					best = Math.min(best, team.getPlayer(i).timeToReach(map.getCentreX(column), map.getCentreY(row)));
+				}
+				assertEquals(best, map.getArrivalTime(column, row), 0.0);
+				int owner = map.getOwner(column, row);
+				assertEquals(best, team.getPlayer(owner).timeToReach(map.getCentreX(column), map.getCentreY(row)),
+						0.0);
+			}
+		}
+	}
+
+	@Test
+	public void testFullBuildMatchesBruteForce() {
+		SimulationEngine engine = createEngine();
+		ControlMap map = new ControlMap(0, 0, 100, 37, 1.0);
+		map.update(engine.getTeam());
+		assertEquals(100, map.getColumns());
+		assertEquals(37, map.getRows());
+		assertEquals(14, map.getLastDirtyCount());
+		assertEquals(100 * 37, map.getLastRescanCount());
+		checkAgainstBruteForce(map, engine.getTeam());
+		Player home = engine.getPlayer(TeamSide.Home, PlayerNameEnum.Player1);
+		assertEquals(home.getIndex(), map.ownerAt(15.2, 10.3));
+		assertTrue(map.arrivalTimeAt(15.2, 10.3) < 0.5);
+	}
+
+	@Test
+	public void testIncrementalUpdateMatchesBruteForce() {
+		SimulationEngine engine = createEngine();
+		Team team = engine.getTeam();
+		// tolerance 0 so the incremental map must be exact
+		ControlMap map = new ControlMap(0, 0, 100, 37, 0.5, ForkJoinPool.commonPool(), 0, 0);
+		map.update(team);
+		Player runner = engine.getPlayer(TeamSide.Away, PlayerNameEnum.Player3);
+		runner.setGoalState(new GoalState(new Position(90, 0), FinalSpeedEnum.Running));
+		for (int tick = 0; tick < 15; tick++) {
+			engine.step();
+			map.update(team);
+			assertEquals(1, map.getLastDirtyCount());
+			// only the runner's own cells need everyone again
+			assertTrue(map.getLastRescanCount() < map.getColumns() * map.getRows() / 2);
+			checkAgainstBruteForce(map, team);
+		}
+		engine.step();
+		map.update(team);
+		map.update(team);
+		assertEquals(0, map.getLastDirtyCount());
+		assertEquals(0, map.getLastRescanCount());
+	}
+}
@@ -0,0 +1,62 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import model.SimulationEngine;
+import model.TeamState;
+import recording.DeltaDecoder;
+import recording.DeltaEncoder;
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+import utilities.PlayerNameEnum;
+import utilities.Position;
+
+public class DeltaCodecTests {
+	double positionResolution = 0.001;
+	double velocityResolution = 0.001;
+
+	@Test
+	public void testRoundTripWithinResolution() throws IOException {
+		SimulationEngine engine = new SimulationEngine();
+		for (PlayerNameEnum playerName : PlayerNameEnum.values()) {
+			engine.addPlayer(playerName, new Position(playerName.ordinal(), -playerName.ordinal()), 8, 10, 10, 15);
+			if (playerName.ordinal() % 2 == 0) {
+				engine.getPlayer(playerName).setGoalState(
+						new GoalState(new Position(100, 10 * playerName.ordinal()), FinalSpeedEnum.Running));
+			}
+		}
+		TeamState state = engine.getTeamState();
+		int ticks = 1000;
+		double[][] expected = new double[ticks][];
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DeltaEncoder encoder = new DeltaEncoder(bytes, state.size(), 50, positionResolution, velocityResolution);
+		for (int tick = 0; tick < ticks; tick++) {
+			engine.step();
+			encoder.writeTick(state);
+			expected[tick] = new double[] { state.getX(2), state.getY(2), state.getVelocityX(2), state.getVelocityY(2) };
+		}
+		encoder.flush();
+		// raw doubles would be 7 players * 4 fields * 8 bytes per tick
+		assertTrue(bytes.size() < ticks * 7 * 4 * 8 / 10);
+
+		DeltaDecoder decoder = new DeltaDecoder(new ByteArrayInputStream(bytes.toByteArray()));
+		for (int tick = 0; tick < ticks; tick++) {
+			assertTrue(decoder.readTick());
+			assertEquals(tick, decoder.getTick());
+			assertEquals(expected[tick][0], decoder.getX(2), positionResolution);
+			assertEquals(expected[tick][1], decoder.getY(2), positionResolution);
+			assertEquals(expected[tick][2], decoder.getVelocityX(2), velocityResolution);
+			assertEquals(expected[tick][3], decoder.getVelocityY(2), velocityResolution);
+			assertEquals(1.0, decoder.getX(1), positionResolution);
+		}
+		assertFalse(decoder.readTick());
+	}
+}
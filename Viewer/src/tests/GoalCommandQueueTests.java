@@ -0,0 +1,121 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import model.GoalCommandQueue;
+import model.Player;
+import model.SimulationEngine;
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+import utilities.PlayerNameEnum;
+import utilities.PlayerProfile;
+import utilities.Position;
+import utilities.TeamSide;
+
+public class GoalCommandQueueTests {
+	PlayerProfile profile = new PlayerProfile(8, 10, 10, 15);
+
+	@Test
+	public void testGoalsSubmittedByNameApplyOnTheNextStep() {
+		SimulationEngine engine = new SimulationEngine();
+		Player home = engine.addPlayer(TeamSide.Home, PlayerNameEnum.Player1, new Position(0, 0), profile);
+		Player away = engine.addPlayer(TeamSide.Away, PlayerNameEnum.Player1, new Position(0, 10), profile);
+
+		GoalState goal = new GoalState(new Position(30, 10), FinalSpeedEnum.Running);
+		engine.getCommandQueue().submit(TeamSide.Away, PlayerNameEnum.Player1, goal);
+		assertNull(away.getGoalState());
+
+		engine.step();
+		assertEquals(goal, away.getGoalState());
+		assertNull(home.getGoalState());
+		assertTrue(away.getVelocityX() > 0);
+	}
+
+	@Test
+	public void testCommandsForAbsentPlayersAreDropped() {
+		SimulationEngine engine = new SimulationEngine();
+		engine.addPlayer(PlayerNameEnum.Player1, new Position(0, 0), profile);
+		GoalCommandQueue commands = engine.getCommandQueue();
+		GoalState goal = new GoalState(new Position(30, 0), FinalSpeedEnum.Running);
+
+		commands.submit(TeamSide.Away, PlayerNameEnum.Player1, goal);
+		commands.submit(5, goal);
+		commands.submit(0, goal);
+		assertEquals(3, engine.drainCommands());
+		assertEquals(2, commands.getRejectedCount());
+		assertTrue(commands.isEmpty());
+		assertTrue(engine.getTeam().hasPendingGoals());
+	}
+
+	// bad commands fail on the submitting thread instead of surfacing in the
+	// simulation thread's drain
+	@Test
+	public void testMalformedCommandsAreRejectedOnSubmit() {
+		SimulationEngine engine = new SimulationEngine();
+		engine.addPlayer(PlayerNameEnum.Player1, new Position(0, 0), profile);
+		GoalCommandQueue commands = engine.getCommandQueue();
+		GoalState goal = new GoalState(new Position(30, 0), FinalSpeedEnum.Running);
+
+		assertThrows(NullPointerException.class, () -> commands.submit(0, null));
+		assertThrows(IllegalArgumentException.class, () -> commands.submit(-1, goal));
+		assertThrows(NullPointerException.class, () -> commands.submit(TeamSide.Home, PlayerNameEnum.Player1, null));
+		assertThrows(NullPointerException.class, () -> commands.submit(null, PlayerNameEnum.Player1, goal));
+		assertThrows(NullPointerException.class, () -> commands.submit(TeamSide.Home, null, goal));
+		assertTrue(commands.isEmpty());
+		assertEquals(0, engine.drainCommands());
+		assertEquals(0, commands.getRejectedCount());
+	}
+
+	// producers hammer the queue while the simulation thread drains it: nothing
+	// is lost and each producer's goals arrive in the order it sent them
+	@Test
+	public void testManyProducersOneConsumer() throws InterruptedException {
+		int producers = 4;
+		int perProducer = 20000;
+		SimulationEngine engine = new SimulationEngine();
+		for (int p = 0; p < producers; p++) {
+			engine.addAgent(TeamSide.Home, new Position(0, 5 * p), profile);
+		}
+		GoalCommandQueue commands = engine.getCommandQueue();
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[producers];
+		for (int p = 0; p < producers; p++) {
+			int id = p;
+			threads[p] = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < perProducer; i++) {
+					commands.submit(id, new GoalState(new Position(i, 5 * id), FinalSpeedEnum.Running));
+				}
+			});
+			threads[p].start();
+		}
+
+		start.countDown();
+		long drained = 0;
+		while (drained < (long) producers * perProducer) {
+			drained += engine.drainCommands();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(0, engine.drainCommands());
+		assertEquals((long) producers * perProducer, drained);
+		assertEquals(0, commands.getRejectedCount());
+
+		engine.step();
+		for (int p = 0; p < producers; p++) {
+			assertEquals(perProducer - 1, engine.getTeam().getPlayer(p).getGoalState().getPosition().getX(), 0);
+		}
+	}
+}
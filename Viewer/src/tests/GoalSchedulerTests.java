@@ -0,0 +1,162 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import model.GoalScheduler;
+import model.Player;
+import model.SeparationStage;
+import model.SimulationEngine;
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+import utilities.PlayerNameEnum;
+import utilities.PlayerProfile;
+import utilities.Position;
+import utilities.TeamSide;
+import utilities.TimedGoal;
+
+public class GoalSchedulerTests {
+	double maxSpeed = 10;
+	double runningSpeed = 8;
+	double maxAcceleration = 10;
+	double maxDeceleration = 15;
+
+	private SimulationEngine createEngine() {
+		SimulationEngine engine = new SimulationEngine();
+		for (PlayerNameEnum playerName : PlayerNameEnum.values()) {
+			engine.addPlayer(playerName, new Position(0, 5 * playerName.ordinal()), runningSpeed, maxSpeed,
+					maxAcceleration, maxDeceleration);
+		}
+		return engine;
+	}
+
+	// everyone sprints off at staggered times, and two are sent again later
+	private List<TimedGoal> createGoals() {
+		List<TimedGoal> goals = new ArrayList<>();
+		for (PlayerNameEnum playerName : PlayerNameEnum.values()) {
+			int i = playerName.ordinal();
+			goals.add(new TimedGoal(10.0 * i, playerName,
+					new GoalState(new Position(100, 5 * i + 3), FinalSpeedEnum.Running)));
+		}
+		goals.add(new TimedGoal(200.0, PlayerNameEnum.Player2,
+				new GoalState(new Position(0, 0), FinalSpeedEnum.Running)));
+		goals.add(new TimedGoal(350.0, PlayerNameEnum.Player5,
+				new GoalState(new Position(0, 0), FinalSpeedEnum.Running)));
+		return goals;
+	}
+
+	// the same goals applied by ticking every player every step
+	private SimulationEngine runTicked(double duration) {
+		SimulationEngine engine = createEngine();
+		List<TimedGoal> goals = createGoals();
+		int next = 0;
+		long ticks = Math.round(duration / engine.getTickSeconds());
+		for (long tick = 0; tick < ticks; tick++) {
+			Map<PlayerNameEnum, GoalState> due = new EnumMap<>(PlayerNameEnum.class);
+			while (next < goals.size() && goals.get(next).getTime() <= engine.getSimulationTime() + 1e-9) {
+				due.put(goals.get(next).getPlayerName(), goals.get(next).getGoalState());
+				next++;
+			}
+			engine.getTeam().assignGoals(due);
+			engine.step();
+		}
+		return engine;
+	}
+
+	@Test
+	public void testSkippingMatchesTicking() {
+		SimulationEngine reference = runTicked(600.0);
+		SimulationEngine engine = createEngine();
+		GoalScheduler scheduler = new GoalScheduler(engine);
+		for (TimedGoal goal : createGoals()) {
+			scheduler.schedule(goal);
+		}
+		scheduler.advanceTo(600.0);
+		assertEquals(600.0, engine.getSimulationTime(), 1e-9);
+		assertEquals(0, scheduler.getScheduledCount());
+		for (PlayerNameEnum playerName : PlayerNameEnum.values()) {
+			Player expected = reference.getPlayer(playerName);
+			Player actual = engine.getPlayer(playerName);
+			assertEquals(expected.getCurrentPosition().getX(), actual.getCurrentPosition().getX(), 1e-6);
+			assertEquals(expected.getCurrentPosition().getY(), actual.getCurrentPosition().getY(), 1e-6);
+			assertEquals(expected.getVelocityX(), actual.getVelocityX(), 1e-9);
+		}
+		// a second of acceleration per sprint instead of 6000 ticks
+		assertTrue(engine.getTickCount() < 200);
+		assertTrue(scheduler.getSkipCount() > 0);
+		assertEquals(0, engine.getTeam().countMoving());
+	}
+
+	// goals are looked up by side and name, so an Away player with a Home
+	// player's name gets its own goal
+	@Test
+	public void testGoalsForAwayPlayers() {
+		SimulationEngine engine = createEngine();
+		Player away = engine.addPlayer(TeamSide.Away, PlayerNameEnum.Player1, new Position(0, -20),
+				new PlayerProfile(runningSpeed, maxSpeed, maxAcceleration, maxDeceleration));
+		Player home = engine.getPlayer(TeamSide.Home, PlayerNameEnum.Player1);
+		GoalScheduler scheduler = new GoalScheduler(engine);
+		GoalState goal = new GoalState(new Position(50, -20), FinalSpeedEnum.Running);
+		scheduler.schedule(new TimedGoal(1.0, TeamSide.Away, PlayerNameEnum.Player1, goal));
+		scheduler.advanceTo(3.0);
+		assertEquals(goal, away.getGoalState());
+		assertTrue(away.getCurrentPosition().getX() > 5);
+		assertNull(home.getGoalState());
+		assertEquals(0.0, home.getCurrentPosition().getX(), 0.0);
+	}
+
+	@Test
+	public void testSeparationTicksUntilEveryoneStands() {
+		SimulationEngine engine = createEngine();
+		engine.getTeam().setSeparation(new SeparationStage(2.0, 40.0, 0.0, 6.0));
+		GoalScheduler scheduler = new GoalScheduler(engine);
+		scheduler.schedule(new TimedGoal(1.0, PlayerNameEnum.Player1,
+				new GoalState(new Position(50, 0), FinalSpeedEnum.Running)));
+		scheduler.advanceTo(0.95);
+		// nobody has a goal yet, so the first second is a single jump
+		assertEquals(1, engine.getTickCount());
+		scheduler.advanceTo(5.0);
+		// a cruising player still has to be ticked while separation is on
+		assertEquals(1 + 41, engine.getTickCount());
+	}
+
+	// with separation on only standing players can be skipped, so every
+	// player that stops on a Stationary goal has to count as standing
+	@Test
+	public void testStoppedPlayersLetSeparationSkip() {
+		SimulationEngine engine = new SimulationEngine();
+		PlayerProfile profile = new PlayerProfile(runningSpeed, maxSpeed, maxAcceleration, maxDeceleration);
+		List<Player> players = new ArrayList<>();
+		for (int i = 0; i < 144; i++) {
+			Player player = engine.addAgent(TeamSide.Home, new Position(20 * (i % 12), 20 * (i / 12)), profile);
+			double angle = 0.37 * i;
+			player.setGoalState(new GoalState(new Position(player.getCurrentPosition().getX() + 8 * Math.cos(angle),
+					player.getCurrentPosition().getY() + 8 * Math.sin(angle)), FinalSpeedEnum.Running));
+			players.add(player);
+		}
+		engine.getTeam().setSeparation(new SeparationStage(1.0, 40.0, 2.0, 6.0));
+		engine.run(7);
+		for (Player player : players) {
+			Position position = player.getCurrentPosition();
+			player.setGoalState(new GoalState(new Position(position.getX() + player.getVelocityX() * 0.4,
+					position.getY() + player.getVelocityY() * 0.4), FinalSpeedEnum.Stationary));
+		}
+		engine.run(30);
+		for (Player player : players) {
+			assertTrue(player.isAtRest());
+		}
+		assertTrue(engine.getTeam().canSkipAhead());
+		GoalScheduler scheduler = new GoalScheduler(engine);
+		long ticks = engine.getTickCount();
+		scheduler.advance(60.0);
+		assertEquals(ticks + 1, engine.getTickCount());
+	}
+}
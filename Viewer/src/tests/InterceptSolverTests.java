@@ -0,0 +1,66 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import model.Intercept;
+import model.InterceptSolver;
+import model.Player;
+import model.SimulationEngine;
+import utilities.PlayerNameEnum;
+import utilities.Position;
+
+public class InterceptSolverTests {
+	double maxSpeed = 10;
+	double runningSpeed = 8;
+	double maxAcceleration = 10;
+	double maxDeceleration = 15;
+
+	private Player createPlayer() {
+		return new Player(new Position(0, 0), runningSpeed, maxSpeed, maxAcceleration, maxDeceleration);
+	}
+
+	@Test
+	public void testStationaryTargetMatchesTimeToReach() {
+		Player player = createPlayer();
+		Intercept intercept = new InterceptSolver().solve(player, 30, 40, 0, 0);
+		assertEquals(player.timeToReach(30, 40), intercept.getTime(), 2e-3);
+		assertEquals(30, intercept.getX(), 0.0);
+		assertEquals(40, intercept.getY(), 0.0);
+	}
+
+	@Test
+	public void testCatchesTargetRunningAway() {
+		// from rest the player covers 5 m in the first second, then 10 m/s:
+		// 10t - 5 = 10 + 5t meets at t = 3, x = 25
+		Intercept intercept = new InterceptSolver().solve(createPlayer(), 10, 0, 5, 0);
+		assertEquals(3.0, intercept.getTime(), 0.01);
+		assertEquals(25.0, intercept.getX(), 0.05);
+		assertEquals(0.0, intercept.getY(), 0.0);
+	}
+
+	@Test
+	public void testFasterTargetIsNotCaught() {
+		assertNull(new InterceptSolver().solve(createPlayer(), 10, 0, maxSpeed + 1, 0));
+	}
+
+	@Test
+	public void testSolveAllPicksEarliest() {
+		SimulationEngine engine = new SimulationEngine();
+		for (PlayerNameEnum playerName : PlayerNameEnum.values()) {
+			engine.addPlayer(playerName, new Position(10 * playerName.ordinal(), 0), runningSpeed, maxSpeed,
+					maxAcceleration, maxDeceleration);
+		}
+		double[] times = new double[engine.getTeam().size()];
+		// a target crossing the field at y = 10, heading toward x = 0
+		int first = new InterceptSolver().solveAll(engine.getTeam(), 45, 10, -6, 0, times);
+		for (int i = 0; i < times.length; i++) {
+			assertTrue(times[first] <= times[i]);
+		}
+		Intercept intercept = new InterceptSolver().solve(engine.getTeam().getPlayer(first), 45, 10, -6, 0);
+		assertEquals(intercept.getTime(), times[first], 0.0);
+	}
+}
@@ -0,0 +1,114 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+import metrics.Histogram;
+import metrics.SimulationMetrics;
+import model.SimulationEngine;
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+import utilities.PlayerNameEnum;
+import utilities.Position;
+
+public class MetricsTests {
+
+	@Test
+	public void testPercentilesWithinOnePercent() {
+		Histogram histogram = new Histogram();
+		for (long value = 1; value <= 100_000; value++) {
+			histogram.record(value * 1000);
+		}
+		assertEquals(100_000, histogram.getCount());
+		assertEquals(100_000_000L, histogram.getMax());
+		assertEquals(50_000_500.0, histogram.getMean(), 1e-6);
+		assertEquals(50_000_000.0, histogram.getValueAtPercentile(50), 50_000_000.0 * 0.01);
+		assertEquals(99_000_000.0, histogram.getValueAtPercentile(99), 99_000_000.0 * 0.01);
+		assertEquals(100_000_000L, histogram.getValueAtPercentile(100));
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getValueAtPercentile(99));
+	}
+
+	@Test
+	public void testSmallValuesAreExact() {
+		Histogram histogram = new Histogram();
+		for (long value = 0; value < 100; value++) {
+			histogram.record(value);
+		}
+		assertEquals(49, histogram.getValueAtPercentile(50));
+		assertEquals(98, histogram.getValueAtPercentile(99));
+	}
+
+	// recorders on several threads lose nothing, and a reset from another
+	// thread (JMX) in the middle of recording leaves a usable histogram
+	@Test
+	public void testConcurrentRecordAndReset() throws InterruptedException {
+		Histogram histogram = new Histogram();
+		int threads = 4;
+		int perThread = 50_000;
+		Thread[] recorders = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			recorders[t] = new Thread(() -> {
+				for (int i = 1; i <= perThread; i++) {
+					histogram.record(i);
+				}
+			});
+			recorders[t].start();
+		}
+		for (Thread recorder : recorders) {
+			recorder.join();
+		}
+		assertEquals((long) threads * perThread, histogram.getCount());
+		assertEquals(perThread, histogram.getMax());
+		assertEquals((perThread + 1) / 2.0, histogram.getMean(), 1e-9);
+
+		Thread recorder = new Thread(() -> {
+			for (int i = 1; i <= perThread; i++) {
+				histogram.record(i);
+			}
+		});
+		recorder.start();
+		while (recorder.isAlive()) {
+			histogram.reset();
+		}
+		recorder.join();
+		assertTrue(histogram.getCount() <= perThread);
+		assertTrue(histogram.getMax() <= perThread);
+		histogram.reset();
+		histogram.record(7);
+		assertEquals(1, histogram.getCount());
+		assertEquals(7, histogram.getMax());
+		assertEquals(7, histogram.getValueAtPercentile(50));
+	}
+
+	@Test
+	public void testEngineRecordsTicksAndRegistersOverJmx() throws Exception {
+		SimulationEngine engine = new SimulationEngine();
+		engine.addPlayer(PlayerNameEnum.Player1, new Position(0, 0), 8, 10, 10, 15)
+				.setGoalState(new GoalState(new Position(50, 0), FinalSpeedEnum.Running));
+		SimulationMetrics metrics = new SimulationMetrics();
+		engine.setMetrics(metrics);
+		engine.run(10);
+		metrics.setPlayerTimingEnabled(true);
+		engine.run(5);
+		assertEquals(15, metrics.getTickCount());
+		assertEquals(5, metrics.getPlayerUpdates().getCount());
+		assertTrue(metrics.getTickDurationP99Micros() > 0);
+		assertTrue(metrics.getSummary().contains("player updates 5 "));
+		metrics.register();
+		try {
+			Object ticks = ManagementFactory.getPlatformMBeanServer()
+					.getAttribute(new ObjectName(SimulationMetrics.OBJECT_NAME), "TickCount");
+			assertEquals(15L, ticks);
+		} finally {
+			metrics.unregister();
+		}
+	}
+}
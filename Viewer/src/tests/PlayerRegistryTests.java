@@ -0,0 +1,80 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import model.BatchStepper;
+import model.Player;
+import model.PlayerRegistry;
+import model.SimulationEngine;
+import model.Team;
+import model.TeamSnapshot;
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+import utilities.PlayerNameEnum;
+import utilities.PlayerProfile;
+import utilities.Position;
+import utilities.TeamSide;
+
+public class PlayerRegistryTests {
+	PlayerProfile profile = new PlayerProfile(8, 10, 10, 15);
+
+	@Test
+	public void testBothSidesAndAgentsGetDenseIds() {
+		SimulationEngine engine = new SimulationEngine();
+		Player home = engine.addPlayer(PlayerNameEnum.Player1, new Position(0, 0), profile);
+		Player away = engine.addPlayer(TeamSide.Away, PlayerNameEnum.Player1, new Position(10, 0), profile);
+		Player agent = engine.addAgent(TeamSide.Away, new Position(20, 0), profile);
+		PlayerRegistry registry = engine.getTeam().getRegistry();
+		assertEquals(0, home.getIndex());
+		assertEquals(1, away.getIndex());
+		assertEquals(2, agent.getIndex());
+		assertSame(home, engine.getPlayer(TeamSide.Home, PlayerNameEnum.Player1));
+		assertSame(away, engine.getPlayer(TeamSide.Away, PlayerNameEnum.Player1));
+		assertNull(engine.getPlayer(TeamSide.Away, PlayerNameEnum.Player2));
+		assertEquals(TeamSide.Away, registry.getSide(agent.getIndex()));
+		assertNull(registry.getName(agent.getIndex()));
+		assertEquals(2, registry.countOnSide(TeamSide.Away));
+		assertThrows(IllegalArgumentException.class,
+				() -> engine.addPlayer(TeamSide.Away, PlayerNameEnum.Player1, new Position(0, 0), profile));
+
+		Map<PlayerNameEnum, GoalState> goals = new EnumMap<>(PlayerNameEnum.class);
+		goals.put(PlayerNameEnum.Player1, new GoalState(new Position(10, 30), FinalSpeedEnum.Running));
+		engine.getTeam().assignGoals(TeamSide.Away, goals);
+		engine.getTeam().assignGoal(agent.getIndex(), new GoalState(new Position(20, 30), FinalSpeedEnum.Running));
+		engine.run(10);
+		assertEquals(0.0, home.getCurrentPosition().getY(), 0.0);
+		assertEquals(away.getCurrentPosition().getY(), agent.getCurrentPosition().getY(), 1e-12);
+		assertEquals(PlayerNameEnum.Player1, engine.publishSnapshot().getPlayerName(away.getIndex()));
+	}
+
+	@Test
+	public void testTenThousandAgents() {
+		SimulationEngine engine = new SimulationEngine();
+		Team team = engine.getTeam();
+		team.setBatchStepper(BatchStepper.fastest());
+		int agents = 10_000;
+		for (int i = 0; i < agents; i++) {
+			TeamSide side = i % 2 == 0 ? TeamSide.Home : TeamSide.Away;
+			engine.addAgent(side, new Position(i % 100, i / 100), profile);
+			team.assignGoal(i, new GoalState(new Position(i % 100, 200), FinalSpeedEnum.Running));
+		}
+		engine.run(20);
+		assertEquals(agents, team.size());
+		assertEquals(agents / 2, team.getRegistry().countOnSide(TeamSide.Away));
+		TeamSnapshot snapshot = engine.publishSnapshot();
+		assertEquals(agents, snapshot.size());
+		// from rest toward y = 200: one second of acceleration then a second at top speed
+		for (int i = 0; i < agents; i += 997) {
+			assertEquals(i / 100 + 15.0, snapshot.getY(i), 1e-9);
+			assertEquals(i % 100, snapshot.getX(i), 1e-9);
+		}
+	}
+}
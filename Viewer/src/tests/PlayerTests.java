@@ -2,11 +2,19 @@ package tests;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
+import java.lang.management.ManagementFactory;
+
 import org.junit.jupiter.api.Test;
 
+import com.sun.management.ThreadMXBean;
+
 import model.Player;
+import model.TeamState;
+import model.Trajectory;
 import utilities.FinalSpeedEnum;
 import utilities.GoalState;
 import utilities.Position;
@@ -40,6 +48,20 @@ public class PlayerTests {
 		assertEquals(velY, player.getVelocityY(), 1e-5);
 	}
 	
+	// best of several runs, so a one-off JIT transition during a run is not counted
+	private long allocatedBytesDuringUpdates(Player player, int updates) {
+		ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long fewest = Long.MAX_VALUE;
+		for (int run = 0; run < 5; run++) {
+			long before = threadBean.getCurrentThreadAllocatedBytes();
+			for (int i = 0; i < updates; i++) {
+				player.update();
+			}
+			fewest = Math.min(fewest, threadBean.getCurrentThreadAllocatedBytes() - before);
+		}
+		return fewest;
+	}
+
 	@Test
 	public void testTest() {
 		assertEquals(true, true);
@@ -533,4 +555,112 @@ public class PlayerTests {
 		assertEquals(0.0, player.getVelocityY(), 1e-5);
 		//kinematic equation: x=v_0x*t+0.5*a_x*t^2
 	}
+
+	//update must not allocate once warmed up
+	@Test
+	public void testUpdateStationaryToRunningAllocationFree() {
+		Player player = createPlayerOffset();
+		player.setGoalState(new GoalState(new Position(5e4, 5e4), FinalSpeedEnum.Running, 1));
+		allocatedBytesDuringUpdates(player, 100000);
+		assertEquals(0, allocatedBytesDuringUpdates(player, 10000));
+	}
+
+	@Test
+	public void testUpdateRunningToStationaryAllocationFree() {
+		Player player = createPlayer();
+		player.setGoalState(new GoalState(new Position(8, 5), FinalSpeedEnum.Running));
+		for (int i = 0; i < 20; i++) {
+			player.update();
+		}
+		player.setGoalState(new GoalState(new Position(20, 15), FinalSpeedEnum.Stationary));
+		allocatedBytesDuringUpdates(player, 100000);
+		assertEquals(0, allocatedBytesDuringUpdates(player, 10000));
+	}
+
+	@Test
+	public void testSmallGoalMovesPatchTrajectory() {
+		Player player = createPlayer();
+		Player reference = createPlayer();
+		player.setReplanTolerance(0.05);
+		player.setGoalState(new GoalState(new Position(50, 20), FinalSpeedEnum.Running));
+		reference.setGoalState(new GoalState(new Position(50, 20), FinalSpeedEnum.Running));
+		TeamState state = player.getTeamState();
+		for (int i = 0; i < 20; i++) {
+			// the target drifts by a centimetre a tick but never leaves the tolerance
+			player.setGoalState(new GoalState(new Position(50 + 0.01 * (i % 5), 20), FinalSpeedEnum.Running));
+			player.update();
+			reference.update();
+			// not replanned: the same run, eased over by at most the drift
+			assertEquals(reference.getTeamState().getTime(0), state.getTime(0), 0.0);
+			assertEquals(reference.getCurrentPosition().getX(), player.getCurrentPosition().getX(), 0.05);
+			assertEquals(reference.getCurrentPosition().getY(), player.getCurrentPosition().getY(), 0.0);
+		}
+		assertEquals(50.04, player.getGoalState().getPosition().getX(), 1e-12);
+		for (int i = 0; i < 20; i++) {
+			player.update();
+			reference.update();
+		}
+		// the patch has eased in, the path now runs through the moved goal
+		assertEquals(reference.getCurrentPosition().getX() + 0.04, player.getCurrentPosition().getX(), 1e-9);
+		assertEquals(reference.getVelocityX(), player.getVelocityX(), 1e-9);
+		assertEquals(0.0, player.getTeamState().getAccelerationX(0), 0.0);
+		// a larger move, or a different final speed, replans from where the player is now
+		Trajectory trajectory = player.getTrajectory();
+		Position position = player.getCurrentPosition();
+		player.setGoalState(new GoalState(new Position(position.getX() + player.getVelocityX() * 0.1,
+				position.getY() + player.getVelocityY() * 0.1), FinalSpeedEnum.Stationary));
+		assertNotSame(trajectory, player.getTrajectory());
+	}
+
+	// a stopping player whose spot moves a little still stops on the new spot
+	@Test
+	public void testSmallGoalMoveWhileStopping() {
+		Player player = createPlayer();
+		Player reference = createPlayer();
+		player.setReplanTolerance(0.5);
+		for (Player p : new Player[] { player, reference }) {
+			p.setGoalState(new GoalState(new Position(8, 5), FinalSpeedEnum.Running));
+			for (int i = 0; i < 10; i++) {
+				p.update();
+			}
+			Position position = p.getCurrentPosition();
+			p.setGoalState(new GoalState(new Position(position.getX() + 2, position.getY() + 1),
+					FinalSpeedEnum.Stationary));
+			p.update();
+		}
+		GoalState goal = player.getGoalState();
+		player.setGoalState(new GoalState(new Position(goal.getPosition().getX(), goal.getPosition().getY() + 0.3),
+				FinalSpeedEnum.Stationary));
+		for (int i = 0; i < 50; i++) {
+			player.update();
+			reference.update();
+		}
+		assertEquals(reference.getCurrentPosition().getX(), player.getCurrentPosition().getX(), 1e-9);
+		assertEquals(reference.getCurrentPosition().getY() + 0.3, player.getCurrentPosition().getY(), 1e-9);
+		assertEquals(0.0, player.getVelocityX(), 1e-9);
+		assertEquals(0.0, player.getVelocityY(), 1e-9);
+	}
+
+	// tracking a goal that has moved too far to patch, without stopping
+	@Test
+	public void testRunningRetargetKeepsRunning() {
+		Player player = createPlayer();
+		player.setReplanTolerance(0.05);
+		player.setGoalState(new GoalState(new Position(50, 0), FinalSpeedEnum.Running));
+		for (int i = 0; i < 20; i++) {
+			player.update();
+		}
+		assertEquals(maxSpeed, player.getVelocityX(), 1e-9);
+		player.setGoalState(new GoalState(new Position(30, 40), FinalSpeedEnum.Running));
+		assertNotNull(player.getTrajectory());
+		Position start = player.getCurrentPosition();
+		for (int i = 0; i < 30; i++) {
+			player.update();
+		}
+		// full speed again, heading straight for the goal as seen from the turn
+		double distance = Math.hypot(30 - start.getX(), 40 - start.getY());
+		assertEquals(maxSpeed * (30 - start.getX()) / distance, player.getVelocityX(), 1e-9);
+		assertEquals(maxSpeed * (40 - start.getY()) / distance, player.getVelocityY(), 1e-9);
+		assertTrue(player.getCurrentPosition().getY() > start.getY() + 10);
+	}
 }
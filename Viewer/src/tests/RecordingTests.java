@@ -0,0 +1,95 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import model.Player;
+import model.SimulationEngine;
+import recording.TrajectoryRecorder;
+import recording.TrajectoryReplay;
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+import utilities.PlayerNameEnum;
+import utilities.Position;
+
+public class RecordingTests {
+
+	@Test
+	public void testReplayMatchesSimulation() throws IOException {
+		Path path = Files.createTempFile("trajectory", ".bin");
+		try {
+			SimulationEngine engine = new SimulationEngine();
+			for (PlayerNameEnum playerName : PlayerNameEnum.values()) {
+				engine.addPlayer(playerName, new Position(playerName.ordinal(), 0), 8, 10, 10, 15);
+			}
+			Player player = engine.getPlayer(PlayerNameEnum.Player4);
+			GoalState goal = new GoalState(new Position(20, 30), FinalSpeedEnum.Running, 3);
+			double[] x = new double[3000];
+			double[] vy = new double[3000];
+			try (TrajectoryRecorder recorder = TrajectoryRecorder.attach(engine, path)) {
+				player.setGoalState(goal);
+				for (int tick = 0; tick < x.length; tick++) {
+					engine.step();
+					x[tick] = player.getCurrentPosition().getX();
+					vy[tick] = player.getVelocityY();
+				}
+				assertEquals(x.length, recorder.getTickCount());
+			}
+			try (TrajectoryReplay replay = new TrajectoryReplay(path)) {
+				assertEquals(x.length, replay.getTickCount());
+				assertEquals(PlayerNameEnum.values().length, replay.getPlayerCount());
+				assertEquals(0.1, replay.getTickSeconds(), 0.0);
+				for (int tick = x.length - 1; tick >= 0; tick -= 7) {
+					assertEquals(x[tick], replay.getX(tick, player.getIndex()), 0.0);
+					assertEquals(vy[tick], replay.getVelocityY(tick, player.getIndex()), 0.0);
+				}
+				GoalState replayed = replay.getGoalState(100, player.getIndex());
+				assertEquals(goal.getPosition().getY(), replayed.getPosition().getY(), 0.0);
+				assertEquals(goal.getDesiredTime(), replayed.getDesiredTime(), 0.0);
+				assertEquals(goal.getFinalSpeedEnum(), replayed.getFinalSpeedEnum());
+				assertNull(replay.getGoalState(100, 0));
+				assertEquals(0.0, replay.getX(100, 0), 0.0);
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	// variable steps and skips are not the header's tick length, so replay
+	// must take each tick's time from the tick itself
+	@Test
+	public void testTicksOfAnyLengthKeepTheirTime() throws IOException {
+		Path path = Files.createTempFile("trajectory", ".bin");
+		try {
+			SimulationEngine engine = new SimulationEngine();
+			engine.addPlayer(PlayerNameEnum.Player1, new Position(0, 0), 8, 10, 10, 15);
+			try (TrajectoryRecorder recorder = TrajectoryRecorder.attach(engine, path)) {
+				engine.step(0.05);
+				engine.step();
+				assertTrue(engine.getTeam().canSkipAhead());
+				engine.skip(2.5);
+				engine.step();
+			}
+			try (TrajectoryReplay replay = new TrajectoryReplay(path)) {
+				assertEquals(4, replay.getTickCount());
+				assertEquals(0.05, replay.getTime(0), 1e-12);
+				assertEquals(0.15, replay.getTime(1), 1e-12);
+				assertEquals(2.65, replay.getTime(2), 1e-12);
+				assertEquals(2.75, replay.getTime(3), 1e-12);
+				assertEquals(-1, replay.getTickAt(0.01));
+				assertEquals(1, replay.getTickAt(2.0));
+				assertEquals(2, replay.getTickAt(2.65));
+				assertEquals(3, replay.getTickAt(10));
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import model.Scenario;
+import model.ScenarioResult;
+import model.ScenarioRunner;
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+import utilities.PlayerNameEnum;
+import utilities.PlayerProfile;
+import utilities.Position;
+import utilities.TeamSide;
+
+public class ScenarioRunnerTests {
+	PlayerProfile profile = new PlayerProfile(8, 10, 10, 15);
+
+	private Scenario createScenario(int seed) {
+		Scenario scenario = new Scenario(10.0);
+		for (PlayerNameEnum playerName : PlayerNameEnum.values()) {
+			int i = playerName.ordinal();
+			scenario.addPlayer(playerName, new Position(i, seed % 7), profile);
+			scenario.addGoal(0.5 * (i % 3), playerName,
+					new GoalState(new Position(10 + seed, 3 * i), FinalSpeedEnum.Running));
+		}
+		return scenario;
+	}
+
+	@Test
+	public void testParallelMatchesSequential() {
+		List<Scenario> scenarios = new ArrayList<>();
+		for (int seed = 0; seed < 50; seed++) {
+			scenarios.add(createScenario(seed));
+		}
+		ScenarioRunner runner = new ScenarioRunner();
+		List<ScenarioResult> results = runner.runAll(scenarios);
+		assertEquals(scenarios.size(), results.size());
+		for (int seed = 0; seed < scenarios.size(); seed++) {
+			ScenarioResult parallel = results.get(seed);
+			ScenarioResult sequential = runner.run(scenarios.get(seed));
+			assertTrue(parallel.getScenario() == scenarios.get(seed));
+			for (PlayerNameEnum playerName : PlayerNameEnum.values()) {
+				assertEquals(sequential.getFinalPositions().get(playerName).getX(),
+						parallel.getFinalPositions().get(playerName).getX(), 0.0);
+				assertTrue(Double.isFinite(parallel.getArrivalTime(playerName)));
+				assertEquals(sequential.getArrivalTime(playerName), parallel.getArrivalTime(playerName), 0.0);
+			}
+		}
+	}
+
+	@Test
+	public void testArrivalTime() {
+		Scenario scenario = new Scenario(5.0);
+		scenario.addPlayer(PlayerNameEnum.Player1, new Position(0, 0), profile);
+		scenario.addGoal(1.0, PlayerNameEnum.Player1, new GoalState(new Position(5, 0), FinalSpeedEnum.Running, 1));
+		ScenarioResult result = new ScenarioRunner().run(scenario);
+		// 0.5*a*t^2 = 5 with a = 10 -> t = 1, plus the 1 s before the goal was given
+		assertEquals(2.0, result.getArrivalTime(PlayerNameEnum.Player1), 0.1 + 1e-9);
+		assertEquals(10.0, result.getFinalVelocities().get(PlayerNameEnum.Player1).getX(), 1e-9);
+	}
+
+	// at full speed a player covers a metre a tick and runs through its goal
+	// between ticks, which still counts as arriving
+	@Test
+	public void testRunningThroughGoalArrives() {
+		for (int i = 0; i <= 108; i++) {
+			double goalX = 20 + 40.0 * i / 108;
+			Scenario scenario = new Scenario(10.0);
+			scenario.addPlayer(PlayerNameEnum.Player1, new Position(0, 0), profile);
+			scenario.addGoal(0, PlayerNameEnum.Player1, new GoalState(new Position(goalX, 0), FinalSpeedEnum.Running));
+			double arrivalTime = new ScenarioRunner().run(scenario).getArrivalTime(PlayerNameEnum.Player1);
+			// 1 s to reach 10 m/s over the first 5 m, then cruise, less the tolerance
+			assertEquals(1 + (goalX - 0.1 - 5) / 10, arrivalTime, 1e-6);
+		}
+	}
+
+	// both sides field a Player1, each keeps its own goal and result
+	@Test
+	public void testAwayPlayersAreKeptApart() {
+		Scenario scenario = new Scenario(5.0);
+		scenario.addPlayer(PlayerNameEnum.Player1, new Position(0, 0), profile);
+		scenario.addPlayer(TeamSide.Away, PlayerNameEnum.Player1, new Position(0, 10), profile);
+		scenario.addGoal(1.0, TeamSide.Away, PlayerNameEnum.Player1,
+				new GoalState(new Position(5, 10), FinalSpeedEnum.Running, 1));
+		ScenarioResult result = new ScenarioRunner().run(scenario);
+		assertEquals(2.0, result.getArrivalTime(TeamSide.Away, PlayerNameEnum.Player1), 0.1 + 1e-9);
+		assertEquals(10.0, result.getFinalVelocities(TeamSide.Away).get(PlayerNameEnum.Player1).getX(), 1e-9);
+		assertTrue(Double.isNaN(result.getArrivalTime(PlayerNameEnum.Player1)));
+		assertEquals(0.0, result.getFinalPositions().get(PlayerNameEnum.Player1).getX(), 0.0);
+	}
+}
@@ -0,0 +1,95 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import model.Player;
+import model.SeparationStage;
+import model.SimulationEngine;
+import model.TeamState;
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+import utilities.PlayerNameEnum;
+import utilities.PlayerProfile;
+import utilities.Position;
+import utilities.TeamSide;
+
+public class SeparationStageTests {
+
+	@Test
+	public void testSeparationSpreadsStackedPlayers() {
+		SimulationEngine engine = new SimulationEngine(0.01);
+		for (PlayerNameEnum playerName : PlayerNameEnum.values()) {
+			engine.addPlayer(playerName, new Position(1, 1), 7, 9, 20, 20);
+		}
+		engine.getTeam().setSeparation(new SeparationStage(1.0, 40, 2, 8));
+		engine.runFor(5.0);
+		TeamState state = engine.getTeamState();
+		for (int i = 0; i < state.size(); i++) {
+			for (int j = i + 1; j < state.size(); j++) {
+				double distance = Math.hypot(state.getX(i) - state.getX(j), state.getY(i) - state.getY(j));
+				assertTrue(distance > 0.5);
+			}
+		}
+	}
+
+	// the viewer's stacked start: once the crowd has spread nobody is left
+	// drifting, so a Running goal still plans from a standstill
+	@Test
+	public void testSeparatedPlayersComeToRest() {
+		SimulationEngine engine = new SimulationEngine();
+		for (PlayerNameEnum playerName : PlayerNameEnum.values()) {
+			engine.addPlayer(playerName, new Position(1, 1), 7.0, 9.0, 20.0, 20.0);
+		}
+		engine.getTeam().setSeparation(new SeparationStage(2.0, 40.0, 0.0, 6.0));
+		engine.run(50);
+		for (Player player : engine.getPlayers()) {
+			assertEquals(0.0, player.getVelocityX(), 0.0);
+			assertEquals(0.0, player.getVelocityY(), 0.0);
+		}
+		Player player = engine.getPlayer(PlayerNameEnum.Player1);
+		Position start = player.getCurrentPosition();
+		player.setGoalState(new GoalState(new Position(30, 30), FinalSpeedEnum.Running));
+		assertTrue(player.getTrajectory() != null);
+		engine.run(5);
+		Position end = player.getCurrentPosition();
+		assertTrue(Math.hypot(end.getX() - start.getX(), end.getY() - start.getY()) > 1);
+	}
+
+	// At constant density each player has the same few neighbours whatever
+	// the crowd size, so with a working broad phase the grid entries looked
+	// at per player stay flat; long hash chains would make them grow with it.
+	@Test
+	public void testBroadPhaseScalesWithPlayerCount() {
+		double small = candidatesPerPlayer(1000);
+		double large = candidatesPerPlayer(16000);
+		assertTrue("per player " + small + " at 1k, " + large + " at 16k", large < 1.5 * small);
+	}
+
+	private double candidatesPerPlayer(int players) {
+		SimulationEngine engine = new SimulationEngine();
+		int side = (int) Math.ceil(Math.sqrt(players));
+		for (int i = 0; i < players; i++) {
+			engine.addAgent(TeamSide.Home, new Position(1.5 * (i % side), 1.5 * (i / side)),
+					new PlayerProfile(8, 10, 10, 15));
+		}
+		SeparationStage separation = new SeparationStage(2.0, 40.0, 2.0, 6.0);
+		engine.getTeam().setSeparation(separation);
+		engine.step();
+		return (double) separation.getLastCandidateCount() / players;
+	}
+
+	@Test
+	public void testSeparationLeavesDistantPlayersOnTrajectory() {
+		SimulationEngine engine = new SimulationEngine();
+		Player player = engine.addPlayer(PlayerNameEnum.Player1, new Position(0, 0), 8, 10, 10, 15);
+		engine.addPlayer(PlayerNameEnum.Player2, new Position(0, 50), 8, 10, 10, 15);
+		engine.getTeam().setSeparation(new SeparationStage(1.0, 40, 2, 8));
+		player.setGoalState(new GoalState(new Position(5e4, 0), FinalSpeedEnum.Running, 1));
+		engine.run(20);
+		assertEquals(player.getTrajectory().positionAt(2.0).getX(), player.getCurrentPosition().getX(), 1e-9);
+		assertEquals(0.0, engine.getTeamState().getOffsetX(player.getIndex()), 0.0);
+	}
+}
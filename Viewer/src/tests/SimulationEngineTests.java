@@ -0,0 +1,203 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import model.Player;
+import model.SimulationEngine;
+import model.SnapshotInterpolator;
+import model.Trajectory;
+import model.TeamSnapshot;
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+import utilities.PlayerNameEnum;
+import utilities.Position;
+
+public class SimulationEngineTests {
+	double maxSpeed = 10;
+	double runningSpeed = 8;
+	double maxAcceleration = 10;
+	double maxDeceleration = 15;
+
+	private Player createPlayer() {
+		return new Player(new Position(0, 0), runningSpeed, maxSpeed, maxAcceleration, maxDeceleration);
+	}
+
+	private Player addPlayer(SimulationEngine engine, PlayerNameEnum playerName) {
+		return engine.addPlayer(playerName, new Position(0, 0), runningSpeed, maxSpeed, maxAcceleration,
+				maxDeceleration);
+	}
+
+	@Test
+	public void testStepMatchesDirectUpdate() {
+		SimulationEngine engine = new SimulationEngine();
+		Player reference = createPlayer();
+		for (PlayerNameEnum playerName : PlayerNameEnum.values()) {
+			addPlayer(engine, playerName).setGoalState(new GoalState(new Position(5e4, 5e4), FinalSpeedEnum.Running, 1));
+		}
+		reference.setGoalState(new GoalState(new Position(5e4, 5e4), FinalSpeedEnum.Running, 1));
+		for (int i = 0; i < 100; i++) {
+			engine.step();
+			reference.update();
+		}
+		assertEquals(100, engine.getTickCount());
+		for (Player player : engine.getPlayers()) {
+			assertEquals(reference.getCurrentPosition().getX(), player.getCurrentPosition().getX(), 1e-9);
+			assertEquals(reference.getCurrentPosition().getY(), player.getCurrentPosition().getY(), 1e-9);
+		}
+	}
+
+	@Test
+	public void testStepWithoutGoal() {
+		SimulationEngine engine = new SimulationEngine();
+		addPlayer(engine, PlayerNameEnum.Player1);
+		engine.runFor(10.0);
+		assertEquals(0.0, engine.getPosition(PlayerNameEnum.Player1).getX(), 1e-9);
+		assertEquals(10.0, engine.getSimulationTime(), 1e-9);
+	}
+
+	@Test
+	public void testPlayersShareTeamState() {
+		SimulationEngine engine = new SimulationEngine();
+		for (PlayerNameEnum playerName : PlayerNameEnum.values()) {
+			addPlayer(engine, playerName);
+		}
+		Player player = engine.getPlayer(PlayerNameEnum.Player3);
+		player.setGoalState(new GoalState(new Position(0, 5), FinalSpeedEnum.Running));
+		engine.step();
+		assertEquals(PlayerNameEnum.values().length, engine.getTeamState().size());
+		assertEquals(player.getVelocityY(), engine.getTeamState().getVelocityY(player.getIndex()), 0.0);
+		assertEquals(player.getCurrentPosition().getY(), engine.getTeamState().getY(player.getIndex()), 0.0);
+	}
+
+	@Test
+	public void testFixedSubstepsIndependentOfFrameTiming() {
+		SimulationEngine steady = new SimulationEngine(0.001);
+		SimulationEngine jittery = new SimulationEngine(0.001);
+		addPlayer(steady, PlayerNameEnum.Player1).setGoalState(new GoalState(new Position(30, 40), FinalSpeedEnum.Running));
+		addPlayer(jittery, PlayerNameEnum.Player1).setGoalState(new GoalState(new Position(30, 40), FinalSpeedEnum.Running));
+		double[] frames = { 0.016, 0.031, 0.004, 0.0165, 0.0325, 0.0, 0.05 };
+		double elapsed = 0;
+		for (int i = 0; i < 60; i++) {
+			double frame = frames[i % frames.length];
+			jittery.advance(frame);
+			elapsed += frame;
+		}
+		steady.run(jittery.getTickCount());
+		assertEquals(Math.floor(elapsed / 0.001 + 1e-6), jittery.getTickCount(), 1.0);
+		assertEquals(steady.getPosition(PlayerNameEnum.Player1).getX(), jittery.getPosition(PlayerNameEnum.Player1).getX(), 1e-9);
+		assertEquals(steady.getPosition(PlayerNameEnum.Player1).getY(), jittery.getPosition(PlayerNameEnum.Player1).getY(), 1e-9);
+	}
+
+	@Test
+	public void testVariableStep() {
+		SimulationEngine engine = new SimulationEngine();
+		Player player = addPlayer(engine, PlayerNameEnum.Player1);
+		player.setGoalState(new GoalState(new Position(0, 5), FinalSpeedEnum.Running));
+		engine.step(0.05);
+		engine.step(0.15);
+		assertEquals(0.2, engine.getSimulationTime(), 1e-12);
+		assertEquals(0.5 * maxAcceleration * 0.2 * 0.2, player.getCurrentPosition().getY(), 1e-9);
+	}
+
+	@Test
+	public void testSnapshotIsIndependentOfLaterSteps() {
+		SimulationEngine engine = new SimulationEngine();
+		for (PlayerNameEnum playerName : PlayerNameEnum.values()) {
+			addPlayer(engine, playerName);
+		}
+		engine.getPlayer(PlayerNameEnum.Player2).setGoalState(new GoalState(new Position(5, 0), FinalSpeedEnum.Running));
+		engine.step();
+		TeamSnapshot snapshot = engine.publishSnapshot();
+		double x = snapshot.getX(engine.getPlayer(PlayerNameEnum.Player2).getIndex());
+		engine.run(10);
+		assertEquals(snapshot, engine.getSnapshot());
+		assertEquals(x, snapshot.getX(engine.getPlayer(PlayerNameEnum.Player2).getIndex()), 0.0);
+		assertEquals(PlayerNameEnum.Player2, snapshot.getPlayerName(engine.getPlayer(PlayerNameEnum.Player2).getIndex()));
+		assertEquals(0.1, snapshot.getTime(), 1e-12);
+		assertEquals(1.1, engine.publishSnapshot().getTime(), 1e-12);
+	}
+
+	@Test
+	public void testAssignGoalsMatchesSetGoalState() {
+		SimulationEngine engine = new SimulationEngine();
+		Map<PlayerNameEnum, GoalState> goals = new EnumMap<>(PlayerNameEnum.class);
+		for (PlayerNameEnum playerName : PlayerNameEnum.values()) {
+			addPlayer(engine, playerName);
+			goals.put(playerName, new GoalState(new Position(10, playerName.ordinal() % 2), FinalSpeedEnum.Running));
+		}
+		engine.getTeam().assignGoals(goals);
+		assertTrue(engine.getTeam().hasPendingGoals());
+		assertEquals(0.0, engine.getPosition(PlayerNameEnum.Player1).getX(), 0.0);
+		engine.run(5);
+		assertFalse(engine.getTeam().hasPendingGoals());
+		// players with the same start and goal share one plan
+		assertSame(engine.getPlayer(PlayerNameEnum.Player1).getTrajectory(),
+				engine.getPlayer(PlayerNameEnum.Player3).getTrajectory());
+
+		Player reference = createPlayer();
+		reference.setGoalState(new GoalState(new Position(10, 0), FinalSpeedEnum.Running));
+		for (int i = 0; i < 5; i++) {
+			reference.update();
+		}
+		assertEquals(reference.getCurrentPosition().getX(), engine.getPosition(PlayerNameEnum.Player1).getX(), 1e-9);
+		assertEquals(reference.getVelocityX(), engine.getPlayer(PlayerNameEnum.Player1).getVelocityX(), 1e-9);
+	}
+
+	@Test
+	public void testInterpolatorFollowsAccelerationBetweenSnapshots() {
+		SimulationEngine engine = new SimulationEngine();
+		Player player = addPlayer(engine, PlayerNameEnum.Player1);
+		player.setGoalState(new GoalState(new Position(5e4, 0), FinalSpeedEnum.Running));
+		SnapshotInterpolator interpolator = new SnapshotInterpolator(0.5);
+		engine.step();
+		interpolator.offer(engine.publishSnapshot(), 0);
+		assertEquals(1.0, interpolator.alpha(0), 0.0);
+		engine.step();
+		TeamSnapshot second = engine.publishSnapshot();
+		interpolator.offer(second, 1_000_000_000L);
+		// republishing the same tick must not restart the blend
+		interpolator.offer(engine.publishSnapshot(), 1_020_000_000L);
+		double alpha = interpolator.alpha(1_050_000_000L);
+		assertEquals(0.5, alpha, 1e-9);
+		// still accelerating from rest, so halfway between t = 0.1 and 0.2 is x = a*t*t/2 at t = 0.15
+		assertEquals(0.5 * maxAcceleration * 0.15 * 0.15, interpolator.getX(0, alpha), 1e-9);
+		// a late tick is carried forward on the newest velocity, up to half an interval
+		double late = interpolator.alpha(1_200_000_000L);
+		assertEquals(1.5, late, 1e-9);
+		assertEquals(second.getX(0) + second.getVelocityX(0) * 0.05, interpolator.getX(0, late), 1e-9);
+	}
+
+	@Test
+	public void testAssignGoalsWithinToleranceKeepsPlans() {
+		SimulationEngine engine = new SimulationEngine();
+		engine.getTeam().setReplanTolerance(0.1);
+		Map<PlayerNameEnum, GoalState> goals = new EnumMap<>(PlayerNameEnum.class);
+		for (PlayerNameEnum playerName : PlayerNameEnum.values()) {
+			addPlayer(engine, playerName);
+			goals.put(playerName, new GoalState(new Position(40, 10), FinalSpeedEnum.Running));
+		}
+		engine.getTeam().assignGoals(goals);
+		engine.step();
+		Player player = engine.getPlayer(PlayerNameEnum.Player4);
+		Trajectory trajectory = player.getTrajectory();
+		goals.put(PlayerNameEnum.Player4, new GoalState(new Position(40.05, 10), FinalSpeedEnum.Running));
+		engine.getTeam().assignGoals(goals);
+		engine.step();
+		// patched rather than replanned, so its clock carries on
+		assertEquals(0.2, engine.getTeamState().getTime(player.getIndex()), 1e-12);
+		trajectory = player.getTrajectory();
+		goals.put(PlayerNameEnum.Player4, new GoalState(new Position(45, 10), FinalSpeedEnum.Stationary));
+		engine.getTeam().assignGoals(goals);
+		engine.step();
+		assertFalse(trajectory == player.getTrajectory());
+		assertEquals(0.1, engine.getTeamState().getTime(player.getIndex()), 1e-12);
+	}
+}
@@ -0,0 +1,143 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import model.Player;
+import model.SimulationEngine;
+import model.SpatialGrid;
+import model.TeamState;
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+import utilities.PlayerNameEnum;
+import utilities.PlayerProfile;
+import utilities.Position;
+import utilities.TeamSide;
+
+public class SpatialGridTests {
+
+	private SimulationEngine createEngine(Random random) {
+		SimulationEngine engine = new SimulationEngine();
+		for (PlayerNameEnum playerName : PlayerNameEnum.values()) {
+			Player player = engine.addPlayer(playerName, new Position(random.nextDouble() * 40, random.nextDouble() * 40),
+					8, 10, 10, 15);
+			player.setGoalState(new GoalState(new Position(random.nextDouble() * 100 - 50, random.nextDouble() * 100 - 50),
+					FinalSpeedEnum.Running));
+		}
+		return engine;
+	}
+
+	private int[] bruteForceRadius(TeamState state, double qx, double qy, double radius) {
+		return IntStream.range(0, state.size())
+				.filter(i -> Math.hypot(state.getX(i) - qx, state.getY(i) - qy) <= radius).toArray();
+	}
+
+	@Test
+	public void testRadiusAndNearestMatchBruteForce() {
+		Random random = new Random(42);
+		SimulationEngine engine = createEngine(random);
+		SpatialGrid grid = engine.getTeam().enableSpatialIndex(3.0);
+		TeamState state = engine.getTeamState();
+		for (int tick = 0; tick < 50; tick++) {
+			engine.step();
+			for (int query = 0; query < 20; query++) {
+				double qx = random.nextDouble() * 60 - 10;
+				double qy = random.nextDouble() * 60 - 10;
+				double radius = random.nextDouble() * 20;
+				int[] result = new int[state.size()];
+				int count = grid.queryRadius(qx, qy, radius, result);
+				int[] found = Arrays.copyOf(result, count);
+				Arrays.sort(found);
+				assertTrue(Arrays.equals(bruteForceRadius(state, qx, qy, radius), found));
+
+				int[] nearest = new int[3];
+				assertEquals(3, grid.nearest(qx, qy, nearest));
+				Integer[] sorted = new Integer[state.size()];
+				for (int i = 0; i < sorted.length; i++) {
+					sorted[i] = i;
+				}
+				Arrays.sort(sorted, (a, b) -> Double.compare(Math.hypot(state.getX(a) - qx, state.getY(a) - qy),
+						Math.hypot(state.getX(b) - qx, state.getY(b) - qy)));
+				for (int i = 0; i < nearest.length; i++) {
+					assertEquals((int) sorted[i], nearest[i]);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testNearestWithFilter() {
+		SimulationEngine engine = new SimulationEngine();
+		for (PlayerNameEnum playerName : PlayerNameEnum.values()) {
+			engine.addPlayer(playerName, new Position(playerName.ordinal() * 5, 0), 8, 10, 10, 15);
+		}
+		SpatialGrid grid = engine.getTeam().enableSpatialIndex(2.0);
+		int[] nearest = new int[1];
+		assertEquals(1, grid.nearest(0.1, 0, i -> i % 2 == 1, nearest));
+		assertEquals(1, nearest[0]);
+		assertEquals(0, grid.queryRadius(100, 100, 5, new int[7]));
+	}
+
+	// queried every tick, so repeated queries must not allocate
+	@Test
+	public void testQueriesAllocationFree() {
+		SimulationEngine engine = createEngine(new Random(3));
+		SpatialGrid grid = engine.getTeam().enableSpatialIndex(3.0);
+		int[] nearest = new int[3];
+		int[] within = new int[7];
+		ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long fewest = Long.MAX_VALUE;
+		for (int run = 0; run < 5; run++) {
+			long before = threadBean.getCurrentThreadAllocatedBytes();
+			for (int i = 0; i < 10000; i++) {
+				grid.nearest(i % 40, 20, nearest);
+				grid.queryRadius(i % 40, 20, 10, within);
+			}
+			fewest = Math.min(fewest, threadBean.getCurrentThreadAllocatedBytes() - before);
+		}
+		assertEquals(0, fewest);
+	}
+
+	// agents added after the index was enabled, queried from far outside the crowd
+	@Test
+	public void testGrowthAndDistantQueries() {
+		Random random = new Random(7);
+		SimulationEngine engine = new SimulationEngine();
+		SpatialGrid grid = engine.getTeam().enableSpatialIndex(2.0);
+		for (int i = 0; i < 3000; i++) {
+			engine.addAgent(TeamSide.Home, new Position(random.nextDouble() * 100, random.nextDouble() * 60),
+					new PlayerProfile(8, 10, 10, 15));
+		}
+		engine.step();
+		TeamState state = engine.getTeamState();
+		assertEquals(3000, grid.size());
+		for (int query = 0; query < 20; query++) {
+			double qx = random.nextDouble() * 1e5 - 5e4;
+			double qy = random.nextDouble() * 1e5 - 5e4;
+			int[] nearest = new int[2];
+			assertEquals(2, grid.nearest(qx, qy, nearest));
+			double best = Double.POSITIVE_INFINITY;
+			for (int i = 0; i < state.size(); i++) {
+				best = Math.min(best, Math.hypot(state.getX(i) - qx, state.getY(i) - qy));
+			}
+			assertEquals(best, Math.hypot(state.getX(nearest[0]) - qx, state.getY(nearest[0]) - qy), 0.0);
+
+			double cx = random.nextDouble() * 100;
+			double cy = random.nextDouble() * 60;
+			int[] result = new int[state.size()];
+			int count = grid.queryRadius(cx, cy, 5, result);
+			int[] found = Arrays.copyOf(result, count);
+			Arrays.sort(found);
+			assertTrue(Arrays.equals(bruteForceRadius(state, cx, cy, 5), found));
+		}
+	}
+}
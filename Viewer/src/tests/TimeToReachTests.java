@@ -0,0 +1,73 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import model.Player;
+import model.SimulationEngine;
+import model.TimeToReachTable;
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+import utilities.PlayerNameEnum;
+import utilities.PlayerProfile;
+import utilities.Position;
+
+public class TimeToReachTests {
+	double maxSpeed = 10;
+	double runningSpeed = 8;
+	double maxAcceleration = 10;
+	double maxDeceleration = 15;
+
+	private PlayerProfile createProfile() {
+		return new PlayerProfile(runningSpeed, maxSpeed, maxAcceleration, maxDeceleration);
+	}
+
+	@Test
+	public void testTableMatchesKinematics() {
+		TimeToReachTable table = TimeToReachTable.forProfile(createProfile());
+		// from rest: a*t*t/2 until top speed after 5 m, then cruising
+		assertEquals(1.0, table.exactTimeToReach(5, 0), 1e-12);
+		assertEquals(1.5, table.exactTimeToReach(10, 0), 1e-12);
+		assertEquals(maxSpeed, table.exactPeakSpeed(10, 0), 1e-12);
+		// moving away at 3 m/s: 0.2 s braking loses 0.3 m first
+		assertEquals(0.2 + Math.sqrt(2 * 2.3 / maxAcceleration), table.exactTimeToReach(2, -3), 1e-12);
+		Random random = new Random(20);
+		for (int i = 0; i < 10000; i++) {
+			double distance = random.nextDouble() * 150;
+			double speed = (random.nextDouble() * 2 - 1) * maxSpeed;
+			assertEquals(table.exactTimeToReach(distance, speed), table.timeToReach(distance, speed), 0.01);
+			assertEquals(table.exactPeakSpeed(distance, speed), table.peakSpeed(distance, speed), 0.1);
+		}
+	}
+
+	@Test
+	public void testTablesSharedPerProfile() {
+		Player first = new Player(new Position(0, 0), runningSpeed, maxSpeed, maxAcceleration, maxDeceleration);
+		Player second = new Player(new Position(5, 5), runningSpeed, maxSpeed, maxAcceleration, maxDeceleration);
+		Player slower = new Player(new Position(5, 5), runningSpeed, maxSpeed - 1, maxAcceleration, maxDeceleration);
+		assertSame(first.getTimeToReachTable(), second.getTimeToReachTable());
+		assertSame(TimeToReachTable.forProfile(createProfile()), first.getTimeToReachTable());
+		assertTrue(first.getTimeToReachTable() != slower.getTimeToReachTable());
+	}
+
+	@Test
+	public void testFirstToReach() {
+		SimulationEngine engine = new SimulationEngine();
+		engine.addPlayer(PlayerNameEnum.Player1, new Position(0, 0), createProfile());
+		engine.addPlayer(PlayerNameEnum.Player2, new Position(20, 0), createProfile());
+		Player runner = engine.addPlayer(PlayerNameEnum.Player3, new Position(-10, 10), createProfile());
+		assertEquals(1, engine.getTeam().firstToReach(30, 0));
+		assertEquals(0, engine.getTeam().firstToReach(8, 0));
+		// a head start at top speed beats being 10 m closer from rest
+		runner.setGoalState(new GoalState(new Position(500, 10), FinalSpeedEnum.Running));
+		engine.run(20);
+		double x = runner.getCurrentPosition().getX() + 12;
+		assertEquals(runner.getIndex(), engine.getTeam().firstToReach(x, 10));
+		assertEquals(1.2, runner.timeToReach(x, 10), 0.01);
+	}
+}
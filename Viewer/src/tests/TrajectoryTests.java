@@ -0,0 +1,71 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import model.Player;
+import model.Trajectory;
+import utilities.FinalSpeedEnum;
+import utilities.GoalState;
+import utilities.Position;
+
+public class TrajectoryTests {
+	double maxSpeed = 10;
+	double runningSpeed = 8;
+	double maxAcceleration = 10;
+	double maxDeceleration = 15;
+
+	private Player createPlayer() {
+		return new Player(new Position(3.2, -2.5), runningSpeed, maxSpeed, maxAcceleration, maxDeceleration);
+	}
+
+	private void checkTrajectory(Player player, Trajectory trajectory, double t) {
+		assertEquals(player.getCurrentPosition().getX(), trajectory.positionAt(t).getX(), 1e-9);
+		assertEquals(player.getCurrentPosition().getY(), trajectory.positionAt(t).getY(), 1e-9);
+		assertEquals(player.getVelocityX(), trajectory.velocityAt(t).getX(), 1e-9);
+		assertEquals(player.getVelocityY(), trajectory.velocityAt(t).getY(), 1e-9);
+	}
+
+	@Test
+	public void testStationaryToRunningMatchesSteps() {
+		Player player = createPlayer();
+		player.setGoalState(new GoalState(new Position(50, 20), FinalSpeedEnum.Running));
+		Trajectory trajectory = player.getTrajectory();
+		double t = 0;
+		for (int i = 0; i < 100; i++) {
+			player.update();
+			t += 0.1;
+			checkTrajectory(player, trajectory, t);
+		}
+		assertEquals(maxSpeed, trajectory.velocityAt(1e6).getMagnitude(), 1e-9);
+		assertEquals(maxSpeed / maxAcceleration, trajectory.getSettleTime(), 1e-9);
+		assertTrue(Double.isInfinite(trajectory.getStopTime()));
+	}
+
+	@Test
+	public void testRunningToStationaryStops() {
+		Player player = createPlayer();
+		player.setGoalState(new GoalState(new Position(50, 20), FinalSpeedEnum.Running));
+		for (int i = 0; i < 10; i++) {
+			player.update();
+		}
+		Position position = player.getCurrentPosition();
+		Position goal = new Position(position.getX() + player.getVelocityX() * 0.1,
+				position.getY() + player.getVelocityY() * 0.1);
+		player.setGoalState(new GoalState(goal, FinalSpeedEnum.Stationary));
+		Trajectory trajectory = player.getTrajectory();
+		double stopTime = trajectory.getStopTime();
+		assertTrue(stopTime > 0 && stopTime < 10);
+		double t = 0;
+		for (int i = 0; i < 100; i++) {
+			player.update();
+			t += 0.1;
+			checkTrajectory(player, trajectory, t);
+		}
+		assertEquals(0.0, trajectory.velocityAt(stopTime).getMagnitude(), 1e-9);
+		assertEquals(trajectory.positionAt(stopTime).getX(), trajectory.positionAt(1e6).getX(), 1e-9);
+		assertEquals(trajectory.positionAt(stopTime).getY(), trajectory.positionAt(1e6).getY(), 1e-9);
+	}
+}
@@ -0,0 +1,57 @@
+package utilities;
+
+public class PlayerProfile {
+
+	private final double runningSpeed; // m/s
+	private final double maximumVelocity; // m/s
+	private final double maxAcceleration; // m/s/s
+	private final double maxDeceleration; // m/s/s
+
+	public PlayerProfile(double runningSpeed, double maximumVelocity, double maxAcceleration,
+			double maxDeceleration) {
+		this.runningSpeed = runningSpeed;
+		this.maximumVelocity = maximumVelocity;
+		this.maxAcceleration = maxAcceleration;
+		this.maxDeceleration = maxDeceleration;
+	}
+
+	public double getRunningSpeed() {
+		return runningSpeed;
+	}
+
+	public double getMaximumVelocity() {
+		return maximumVelocity;
+	}
+
+	public double getMaxAcceleration() {
+		return maxAcceleration;
+	}
+
+	public double getMaxDeceleration() {
+		return maxDeceleration;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof PlayerProfile)) {
+			return false;
+		}
+		PlayerProfile profile = (PlayerProfile) other;
+		return Double.compare(runningSpeed, profile.runningSpeed) == 0
+				&& Double.compare(maximumVelocity, profile.maximumVelocity) == 0
+				&& Double.compare(maxAcceleration, profile.maxAcceleration) == 0
+				&& Double.compare(maxDeceleration, profile.maxDeceleration) == 0;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = Double.hashCode(runningSpeed);
+		hash = 31 * hash + Double.hashCode(maximumVelocity);
+		hash = 31 * hash + Double.hashCode(maxAcceleration);
+		hash = 31 * hash + Double.hashCode(maxDeceleration);
+		return hash;
+	}
+}
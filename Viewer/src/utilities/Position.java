@@ -18,6 +18,6 @@ public class Position {
 	}
 
 	public double getMagnitude() {
-		return Math.sqrt(Math.pow(x, 2) + Math.pow(y, 2));
+		return Math.sqrt(x * x + y * y);
 	}
 }
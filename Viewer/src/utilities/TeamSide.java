@@ -0,0 +1,5 @@
+package utilities;
+
+public enum TeamSide {
+	Home, Away
+}
@@ -0,0 +1,36 @@
+package utilities;
+
+public class TimedGoal {
+
+	private final double time; // s from the start of the scenario
+	private final TeamSide side;
+	private final PlayerNameEnum playerName;
+	private final GoalState goalState;
+
+	public TimedGoal(double time, PlayerNameEnum playerName, GoalState goalState) {
+		this(time, TeamSide.Home, playerName, goalState);
+	}
+
+	public TimedGoal(double time, TeamSide side, PlayerNameEnum playerName, GoalState goalState) {
+		this.time = time;
+		this.side = side;
+		this.playerName = playerName;
+		this.goalState = goalState;
+	}
+
+	public double getTime() {
+		return time;
+	}
+
+	public TeamSide getSide() {
+		return side;
+	}
+
+	public PlayerNameEnum getPlayerName() {
+		return playerName;
+	}
+
+	public GoalState getGoalState() {
+		return goalState;
+	}
+}